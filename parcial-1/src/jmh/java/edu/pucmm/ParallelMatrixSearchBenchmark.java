@@ -0,0 +1,109 @@
+package edu.pucmm;
+
+import edu.pucmm.ParallelMatrixSearch.Kernel;
+import edu.pucmm.ParallelMatrixSearch.Layout;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks JMH de {@link ParallelMatrixSearch}.
+ * <p>
+ * Cada combinación de parámetros mide una búsqueda completa (incluido el arranque y el join de los hilos),
+ * sin impresiones en consola. Con threads = 1 se mide la búsqueda secuencial, que sirve de línea base.
+ * <p>
+ * Ejecutar con el plugin de JMH ({@code gradle jmh -Pjmh.includes=ParallelMatrixSearchBenchmark}, ver build.gradle)
+ * o con {@code main}, que activa el perfilador de GC.
+ * Para acotar la matriz de parámetros: {@code -p size=1000 -p layout=FLAT}.
+ *
+ * @author me@fredpena.dev
+ * @created 18/10/2026  - 10:12
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms2g", "-Xmx2g", "-XX:+AlwaysPreTouch"})
+public class ParallelMatrixSearchBenchmark {
+
+    private static final int TARGET = 256;
+    private static final int BOUND = 1000;
+
+    /**
+     * Posición donde se planta el objetivo.
+     */
+    public enum Hit {
+        FIRST,
+        MIDDLE,
+        LAST,
+        ABSENT
+    }
+
+    @Param({"1000", "4000"})
+    private int size;
+
+    @Param({"FIRST", "MIDDLE", "LAST", "ABSENT"})
+    private Hit hit;
+
+    @Param({"JAGGED", "FLAT"})
+    private Layout layout;
+
+    @Param({"1", "2", "4", "8"})
+    private int threads;
+
+    @Param({"SCALAR", "UNROLLED"})
+    private Kernel kernel;
+
+    private int[][] matrix;
+    private int[] flat;
+
+    @Setup(Level.Trial)
+    public void setUp() throws InterruptedException {
+        int[][] positions = switch (hit) {
+            case FIRST -> new int[][]{{0, 0}};
+            case MIDDLE -> new int[][]{{size / 2, size / 2}};
+            case LAST -> new int[][]{{size - 1, size - 1}};
+            case ABSENT -> new int[0][];
+        };
+        matrix = new int[size][size];
+        MatrixFill.planted(matrix, 42, BOUND, TARGET, positions, Runtime.getRuntime().availableProcessors());
+        flat = ParallelMatrixSearch.flatten(matrix);
+    }
+
+    @Benchmark
+    public int[] search() throws InterruptedException {
+        if (layout == Layout.FLAT) {
+            return threads == 1
+                    ? ParallelMatrixSearch.sequentialSearch(flat, size, TARGET, kernel)
+                    : ParallelMatrixSearch.parallelSearch(flat, size, TARGET, threads, kernel);
+        }
+        return threads == 1
+                ? ParallelMatrixSearch.sequentialSearch(matrix, TARGET, kernel)
+                : ParallelMatrixSearch.parallelSearch(matrix, TARGET, threads, kernel);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(ParallelMatrixSearchBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
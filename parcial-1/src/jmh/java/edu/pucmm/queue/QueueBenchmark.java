@@ -0,0 +1,197 @@
+package edu.pucmm.queue;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Control;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara la {@link java.util.concurrent.ArrayBlockingQueue} original con el {@link MpmcRingBuffer}
+ * sin el Thread.sleep del demo, con proporciones de productores:consumidores 1:1 (spsc), 1:4 (oneToMany),
+ * 4:1 (manyToOne) y 4:4 (mpmc), y lotes de 1 y 16 elementos. Los hilos usan offer/poll (o offerBatch/drainTo
+ * con lotes) y esperan con la estrategia configurada, para poder salir limpiamente cuando JMH termina cada
+ * iteración.
+ * <p>
+ * Cada invocación publica o extrae un lote, así que el puntaje por método cuenta lotes; los contadores
+ * auxiliares {@code produced} y {@code consumed} cuentan elementos por segundo. Las latencias de
+ * encolar a desencolar (p50/p99/p999) las mide {@link edu.pucmm.bench.QueueHarness}, que corre más tiempo.
+ * Para CSV, después de {@code gradle jmhJar}:
+ * {@code java -jar build/libs/parcial-1-1.0-SNAPSHOT-jmh.jar QueueBenchmark -rf csv -rff resultados.csv}.
+ *
+ * @author me@fredpena.dev
+ * @created 18/10/2026  - 15:10
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Group)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class QueueBenchmark {
+
+    private static final Integer ITEM = 42;
+
+    @Param({"ARRAY", "RING"})
+    private QueueType queueType;
+
+    @Param({"SPIN", "YIELD", "PARK"})
+    private WaitStrategy waitStrategy;
+
+    @Param({"1", "16"})
+    private int batch;
+
+    @Param({"1024"})
+    private int capacity;
+
+    private BlockingQueue<Integer> queue;
+    private Integer[] items;
+
+    /**
+     * Elementos movidos por cada hilo; JMH los reporta como tasas junto al puntaje.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Counters {
+        public long produced;
+        public long consumed;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            produced = 0;
+            consumed = 0;
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class DrainBuffer {
+        private final List<Integer> items = new ArrayList<>();
+    }
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        queue = queueType.create(capacity, waitStrategy);
+        items = new Integer[batch];
+        Arrays.fill(items, ITEM);
+    }
+
+    @Benchmark
+    @Group("spsc")
+    @GroupThreads(1)
+    public int spscOffer(Control control, Counters counters) {
+        return offer(control, counters);
+    }
+
+    @Benchmark
+    @Group("spsc")
+    @GroupThreads(1)
+    public int spscPoll(Control control, Counters counters, DrainBuffer buffer) {
+        return poll(control, counters, buffer);
+    }
+
+    @Benchmark
+    @Group("oneToMany")
+    @GroupThreads(1)
+    public int oneToManyOffer(Control control, Counters counters) {
+        return offer(control, counters);
+    }
+
+    @Benchmark
+    @Group("oneToMany")
+    @GroupThreads(4)
+    public int oneToManyPoll(Control control, Counters counters, DrainBuffer buffer) {
+        return poll(control, counters, buffer);
+    }
+
+    @Benchmark
+    @Group("manyToOne")
+    @GroupThreads(4)
+    public int manyToOneOffer(Control control, Counters counters) {
+        return offer(control, counters);
+    }
+
+    @Benchmark
+    @Group("manyToOne")
+    @GroupThreads(1)
+    public int manyToOnePoll(Control control, Counters counters, DrainBuffer buffer) {
+        return poll(control, counters, buffer);
+    }
+
+    @Benchmark
+    @Group("mpmc")
+    @GroupThreads(4)
+    public int mpmcOffer(Control control, Counters counters) {
+        return offer(control, counters);
+    }
+
+    @Benchmark
+    @Group("mpmc")
+    @GroupThreads(4)
+    public int mpmcPoll(Control control, Counters counters, DrainBuffer buffer) {
+        return poll(control, counters, buffer);
+    }
+
+    // Publica un lote completo; con una BatchQueue, con una sola reserva si hay espacio
+    private int offer(Control control, Counters counters) {
+        int published = 0;
+        int attempt = 0;
+        while (published < batch) {
+            int n;
+            if (batch > 1 && queue instanceof BatchQueue<Integer> batchQueue) {
+                n = batchQueue.offerBatch(items, published, batch);
+            } else {
+                n = queue.offer(items[published]) ? 1 : 0;
+            }
+            if (n > 0) {
+                published += n;
+                attempt = 0;
+            } else if (control.stopMeasurement) {
+                break;
+            } else {
+                waitStrategy.idle(attempt++);
+            }
+        }
+        counters.produced += published;
+        return published;
+    }
+
+    // Extrae hasta un lote: con batch 1 un poll, si no drainTo
+    private int poll(Control control, Counters counters, DrainBuffer buffer) {
+        int attempt = 0;
+        int taken;
+        while ((taken = take(buffer)) == 0) {
+            if (control.stopMeasurement) {
+                return 0;
+            }
+            waitStrategy.idle(attempt++);
+        }
+        counters.consumed += taken;
+        return taken;
+    }
+
+    private int take(DrainBuffer buffer) {
+        if (batch == 1) {
+            return queue.poll() == null ? 0 : 1;
+        }
+        int taken = queue.drainTo(buffer.items, batch);
+        buffer.items.clear();
+        return taken;
+    }
+}
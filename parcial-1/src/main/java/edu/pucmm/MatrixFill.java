@@ -0,0 +1,142 @@
+package edu.pucmm;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Llenado paralelo y determinista de matrices.
+ * <p>
+ * La matriz se divide en bloques de {@value #TILE_ROWS} filas y cada bloque recibe su propio
+ * {@link SplittableRandom}, obtenido con {@code split()} a partir de la semilla en orden de bloque.
+ * Los hilos solo reparten los bloques, así que el contenido depende de la semilla y nunca de la
+ * cantidad de hilos.
+ *
+ * @author me@fredpena.dev
+ * @created 18/10/2026  - 11:05
+ */
+public final class MatrixFill {
+
+    public static final int TILE_ROWS = 64;
+
+    // Llena una fila completa con el generador de su bloque
+    interface RowFiller {
+        void fill(int[] row, SplittableRandom random);
+    }
+
+    private MatrixFill() {
+    }
+
+    /**
+     * Valores uniformes en [0, bound).
+     */
+    public static void uniform(int[][] matrix, long seed, int bound, int threadCount) throws InterruptedException {
+        checkBound(bound);
+        fill(matrix, seed, threadCount, (row, random) -> {
+            for (int j = 0; j < row.length; j++) {
+                row[j] = random.nextInt(bound);
+            }
+        });
+    }
+
+    /**
+     * Valores en [0, bound) con distribución Zipf: P(k) proporcional a 1 / (k + 1)^exponent.
+     * Útil para matrices donde unos pocos valores se repiten mucho.
+     */
+    public static void zipf(int[][] matrix, long seed, int bound, double exponent, int threadCount)
+            throws InterruptedException {
+        checkBound(bound);
+        double[] cdf = zipfCdf(bound, exponent);
+        fill(matrix, seed, threadCount, (row, random) -> {
+            for (int j = 0; j < row.length; j++) {
+                int index = Arrays.binarySearch(cdf, random.nextDouble());
+                row[j] = Math.min(index < 0 ? -index - 1 : index, bound - 1);
+            }
+        });
+    }
+
+    /**
+     * Valores uniformes en [0, bound) que nunca son {@code target}, y luego {@code target} plantado en
+     * cada posición {fila, columna} indicada. Sin posiciones, el objetivo queda ausente de la matriz.
+     *
+     * @throws IllegalArgumentException si no hay ningún valor en [0, bound) distinto de {@code target}, o si
+     *                                  una posición cae fuera de la matriz
+     */
+    public static void planted(int[][] matrix, long seed, int bound, int target, int[][] positions, int threadCount)
+            throws InterruptedException {
+        checkBound(bound);
+        boolean inRange = target >= 0 && target < bound;
+        if (inRange && bound == 1) {
+            throw new IllegalArgumentException("Con bound = 1 el único valor posible es el objetivo " + target + ".");
+        }
+        for (int[] position : positions) {
+            if (position.length != 2 || position[0] < 0 || position[0] >= matrix.length
+                    || position[1] < 0 || position[1] >= matrix[position[0]].length) {
+                throw new IllegalArgumentException("Posición fuera de la matriz: " + Arrays.toString(position));
+            }
+        }
+        fill(matrix, seed, threadCount, (row, random) -> {
+            for (int j = 0; j < row.length; j++) {
+                if (inRange) {
+                    int value = random.nextInt(bound - 1);
+                    row[j] = value >= target ? value + 1 : value;
+                } else {
+                    row[j] = random.nextInt(bound);
+                }
+            }
+        });
+        for (int[] position : positions) {
+            matrix[position[0]][position[1]] = target;
+        }
+    }
+
+    static void fill(int[][] matrix, long seed, int threadCount, RowFiller filler) throws InterruptedException {
+        int tiles = (matrix.length + TILE_ROWS - 1) / TILE_ROWS;
+        // Los generadores se derivan en orden de bloque antes de arrancar los hilos
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] randoms = new SplittableRandom[tiles];
+        for (int t = 0; t < tiles; t++) {
+            randoms[t] = root.split();
+        }
+
+        AtomicInteger nextTile = new AtomicInteger();
+        Runnable worker = () -> {
+            int tile;
+            while ((tile = nextTile.getAndIncrement()) < tiles) {
+                int endRow = Math.min(matrix.length, (tile + 1) * TILE_ROWS);
+                for (int row = tile * TILE_ROWS; row < endRow; row++) {
+                    filler.fill(matrix[row], randoms[tile]);
+                }
+            }
+        };
+
+        int workers = Math.max(1, Math.min(threadCount, tiles));
+        Thread[] threads = new Thread[workers];
+        for (int i = 0; i < workers; i++) {
+            threads[i] = new Thread(worker);
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+    }
+
+    private static void checkBound(int bound) {
+        if (bound < 1) {
+            throw new IllegalArgumentException("bound debe ser mayor que 0: " + bound);
+        }
+    }
+
+    private static double[] zipfCdf(int bound, double exponent) {
+        double[] cdf = new double[bound];
+        double total = 0;
+        for (int k = 0; k < bound; k++) {
+            total += 1.0 / Math.pow(k + 1, exponent);
+            cdf[k] = total;
+        }
+        for (int k = 0; k < bound; k++) {
+            cdf[k] /= total;
+        }
+        return cdf;
+    }
+}
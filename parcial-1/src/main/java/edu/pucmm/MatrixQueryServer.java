@@ -0,0 +1,190 @@
+package edu.pucmm;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Front-end de consultas concurrentes sobre una matriz, respaldado por {@link ParallelMatrixSearch}.
+ * <p>
+ * Las consultas idénticas que llegan mientras otra igual se está calculando esperan ese mismo resultado
+ * en lugar de recorrer la matriz otra vez. Los resultados se guardan en una cache LRU acotada con clave
+ * (versión de la matriz, consulta). Cada escritura incrementa la versión y vacía la cache; las
+ * consultas se calculan bajo el lock de lectura, así que nunca ven una escritura a medias.
+ *
+ * @author me@fredpena.dev
+ * @created 18/10/2026  - 14:02
+ */
+public class MatrixQueryServer {
+
+    // Se guarda en la cache cuando find no encuentra el objetivo
+    private static final int[] NOT_FOUND = new int[0];
+
+    private enum Type {
+        FIND,
+        COUNT,
+        RANGE
+    }
+
+    private record Query(Type type, int min, int max) {
+    }
+
+    private record Key(long version, Query query) {
+    }
+
+    private final int[][] matrix;
+    private final int threadCount;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private long version; // Protegido por lock
+
+    private final Map<Key, Object> cache; // Protegido por synchronized (cache)
+    private final ConcurrentHashMap<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    public MatrixQueryServer(int[][] matrix, int threadCount, int cacheCapacity) {
+        this.matrix = matrix;
+        this.threadCount = threadCount;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Object> eldest) {
+                return size() > cacheCapacity;
+            }
+        };
+    }
+
+    /**
+     * @return {fila, columna} de una aparición de {@code target}, o null si no existe
+     */
+    public int[] find(int target) throws InterruptedException {
+        int[] position = (int[]) execute(new Query(Type.FIND, target, target));
+        return position == NOT_FOUND ? null : position.clone();
+    }
+
+    public long count(int target) throws InterruptedException {
+        return (Long) execute(new Query(Type.COUNT, target, target));
+    }
+
+    /**
+     * @return cantidad de celdas con valor en [min, max]
+     */
+    public long countInRange(int min, int max) throws InterruptedException {
+        return (Long) execute(new Query(Type.RANGE, min, max));
+    }
+
+    public void set(int row, int col, int value) {
+        update(m -> m[row][col] = value);
+    }
+
+    /**
+     * Aplica una escritura sobre la matriz con acceso exclusivo e invalida los resultados guardados.
+     */
+    public void update(Consumer<int[][]> writer) {
+        lock.writeLock().lock();
+        try {
+            writer.accept(matrix);
+            version++;
+            synchronized (cache) {
+                cache.clear();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public long getVersion() {
+        lock.readLock().lock();
+        try {
+            return version;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getCoalesced() {
+        return coalesced.sum();
+    }
+
+    private Object execute(Query query) throws InterruptedException {
+        lock.readLock().lock();
+        try {
+            Key key = new Key(version, query);
+            while (true) {
+                Object cached = cacheGet(key);
+                if (cached != null) {
+                    hits.increment();
+                    return cached;
+                }
+
+                CompletableFuture<Object> mine = new CompletableFuture<>();
+                CompletableFuture<Object> running = inFlight.putIfAbsent(key, mine);
+                if (running != null) {
+                    coalesced.increment();
+                    try {
+                        return running.get();
+                    } catch (ExecutionException e) {
+                        if (e.getCause() instanceof InterruptedException) {
+                            continue; // El hilo que calculaba fue interrumpido; se vuelve a intentar
+                        }
+                        throw new IllegalStateException("Error al calcular la consulta " + query, e.getCause());
+                    }
+                }
+
+                try {
+                    // Otro hilo pudo terminar y guardar el resultado entre la consulta a la cache y el registro
+                    Object result = cacheGet(key);
+                    if (result == null) {
+                        misses.increment();
+                        result = compute(query);
+                        synchronized (cache) {
+                            cache.put(key, result);
+                        }
+                    }
+                    mine.complete(result);
+                    return result;
+                } catch (InterruptedException | RuntimeException e) {
+                    mine.completeExceptionally(e);
+                    throw e;
+                } finally {
+                    inFlight.remove(key, mine);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Object cacheGet(Key key) {
+        synchronized (cache) {
+            return cache.get(key);
+        }
+    }
+
+    private Object compute(Query query) throws InterruptedException {
+        return switch (query.type()) {
+            case FIND -> {
+                int[] position = ParallelMatrixSearch.parallelSearch(
+                        matrix, query.min(), threadCount, ParallelMatrixSearch.Kernel.UNROLLED);
+                yield position == null ? NOT_FOUND : position;
+            }
+            case COUNT -> ParallelMatrixSearch.parallelCount(matrix, query.min(), threadCount);
+            case RANGE -> ParallelMatrixSearch.parallelCountInRange(matrix, query.min(), query.max(), threadCount);
+        };
+    }
+}
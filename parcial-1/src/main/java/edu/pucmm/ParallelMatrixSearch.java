@@ -1,6 +1,5 @@
 package edu.pucmm;
 
-import java.util.Random;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
@@ -13,76 +12,234 @@ public class ParallelMatrixSearch {
     private static final int THREAD_COUNT = 4;
     private static final int[][] matrix = new int[MATRIX_SIZE][MATRIX_SIZE];
     private static final int TARGET = 256; // Número a buscar
+    private static final long SEED = 42; // Semilla del llenado, para poder reproducir cada ejecución
 
-    public static void main(String[] args) {
+    // Cantidad de celdas que el núcleo UNROLLED compara sin saltos antes de decidir
+    private static final int LANES = 64;
+
+    /**
+     * Disposición en memoria de la matriz: arreglo de filas (int[][]) o un único arreglo por filas (int[]).
+     */
+    public enum Layout {
+        JAGGED,
+        FLAT
+    }
+
+    /**
+     * Núcleo de comparación usado para recorrer una fila.
+     * SCALAR compara celda por celda; UNROLLED compara bloques de {@value #LANES} celdas sin saltos,
+     * lo que permite al JIT vectorizar la reducción y solo recorre el bloque cuando contiene el objetivo.
+     */
+    public enum Kernel {
+        SCALAR,
+        UNROLLED
+    }
+
+    public static void main(String[] args) throws InterruptedException {
         // Inicializar la matriz con valores aleatorios
         fillMatrixRandom();
 
-        // Medir el tiempo de ejecución de la búsqueda secuencial
+        // Medir el tiempo de ejecución de la búsqueda secuencial (la impresión queda fuera de la medición)
         long startTime = System.nanoTime();
-        sequentialSearch();
+        int[] sequential = sequentialSearch(matrix, TARGET);
         long endTime = System.nanoTime();
+        printResult(sequential);
+        System.out.println("Busqueda secuencial completada.");
         System.out.println("Tiempo busqueda secuencial: " + ((endTime - startTime) / 1_000_000) + "ms");
 
-        // Medir el tiempo de ejecución de la búsqueda paralela
+        // Medir el tiempo de ejecución de la búsqueda paralela (incluye esperar a que terminen los hilos)
         startTime = System.nanoTime();
-        parallelSearch();
+        int[] parallel = parallelSearch(matrix, TARGET, THREAD_COUNT, Kernel.SCALAR);
         endTime = System.nanoTime();
+        printResult(parallel);
         System.out.println("Tiempo busqueda paralela: " + ((endTime - startTime) / 1_000_000) + "ms");
 
         // Imprimir la matriz (opcional)
         // printMatrix();
     }
 
-    private static void sequentialSearch() {
-        // Implementar búsqueda secuencial
-        boolean found = false; // Variable para indicar si se encontró el número
-        for (int row = 0; row < MATRIX_SIZE && !found; row++) {
-            for (int col = 0; col < MATRIX_SIZE && !found; col++) {
-                if (matrix[row][col] == TARGET) { // Comparar con el número objetivo
-                    found = true; // Marcar como encontrado
-                    System.out.println("Numero encontrado en la fila " + row + ", columna " + col);
-                }
+    /**
+     * Búsqueda secuencial sobre una matriz de filas.
+     *
+     * @return {fila, columna} de la primera aparición, o null si no se encontró
+     */
+    public static int[] sequentialSearch(int[][] matrix, int target) {
+        return sequentialSearch(matrix, target, Kernel.SCALAR);
+    }
+
+    public static int[] sequentialSearch(int[][] matrix, int target, Kernel kernel) {
+        for (int row = 0; row < matrix.length; row++) {
+            int col = indexOf(matrix[row], 0, matrix[row].length, target, kernel);
+            if (col >= 0) {
+                return new int[]{row, col};
             }
         }
-        if (!found) { // Si no se encontró el número
-            System.out.println("Numero no encontrado en la matriz.");
+        return null;
+    }
+
+    /**
+     * Búsqueda secuencial sobre una matriz almacenada por filas en un único arreglo.
+     */
+    public static int[] sequentialSearch(int[] flat, int cols, int target, Kernel kernel) {
+        int rows = flat.length / cols;
+        for (int row = 0; row < rows; row++) {
+            int from = row * cols;
+            int index = indexOf(flat, from, from + cols, target, kernel);
+            if (index >= 0) {
+                return new int[]{row, index - from};
+            }
         }
-        System.out.println("Busqueda secuencial completada.");
+        return null;
     }
 
-    private static void parallelSearch() {
-        // Implementar búsqueda paralela
-        // Sugerencia: usar AtomicBoolean para indicar si ya se encontró el número y detener hilos
-        AtomicBoolean found = new AtomicBoolean(false); // Variable atómica para indicar si se encontró el número
-        Thread[] threads = new Thread[THREAD_COUNT]; // Arreglo de hilos para manejar la búsqueda paralela
-        int rowsPerThread = MATRIX_SIZE / THREAD_COUNT; // Calcular cuántas filas manejará cada hilo (250 filas por hilo en este caso)
-        for (int i = 0; i < THREAD_COUNT; i++) {
-            final int threadIndex = i;
+    /**
+     * Búsqueda paralela por bloques de filas. Cada hilo deja de buscar en cuanto otro encuentra el objetivo
+     * y el metodo no retorna hasta que todos los hilos terminan.
+     *
+     * @return {fila, columna} de la aparición encontrada primero por algún hilo, o null si no existe
+     */
+    public static int[] parallelSearch(int[][] matrix, int target, int threadCount, Kernel kernel)
+            throws InterruptedException {
+        return searchRows(matrix.length, threadCount,
+                row -> indexOf(matrix[row], 0, matrix[row].length, target, kernel));
+    }
+
+    public static int[] parallelSearch(int[] flat, int cols, int target, int threadCount, Kernel kernel)
+            throws InterruptedException {
+        return searchRows(flat.length / cols, threadCount, row -> {
+            int from = row * cols;
+            int index = indexOf(flat, from, from + cols, target, kernel);
+            return index < 0 ? -1 : index - from;
+        });
+    }
+
+    /**
+     * Cuenta en paralelo las celdas iguales a {@code target}.
+     */
+    public static long parallelCount(int[][] matrix, int target, int threadCount) throws InterruptedException {
+        return parallelCountInRange(matrix, target, target, threadCount);
+    }
+
+    /**
+     * Cuenta en paralelo las celdas con valor en [min, max].
+     */
+    public static long parallelCountInRange(int[][] matrix, int min, int max, int threadCount)
+            throws InterruptedException {
+        int rows = matrix.length;
+        int workers = Math.max(1, Math.min(threadCount, rows));
+        long[] partial = new long[workers]; // Cada hilo escribe solo su posición; se suma después del join
+        Thread[] threads = new Thread[workers];
+        int rowsPerThread = rows / workers;
+        for (int i = 0; i < workers; i++) {
+            int worker = i;
+            int startRow = i * rowsPerThread;
+            int endRow = (i == workers - 1) ? rows : startRow + rowsPerThread;
             threads[i] = new Thread(() -> {
-                int startRow = threadIndex * rowsPerThread; // Calcular la fila inicial para este hilo
-                int endRow = (threadIndex == THREAD_COUNT - 1) ? MATRIX_SIZE : startRow + rowsPerThread; // Calcular la fila final para este hilo (el último hilo maneja el resto de filas)
+                long count = 0;
+                for (int row = startRow; row < endRow; row++) {
+                    for (int value : matrix[row]) {
+                        if (value >= min && value <= max) {
+                            count++;
+                        }
+                    }
+                }
+                partial[worker] = count;
+            });
+            threads[i].start();
+        }
+        long total = 0;
+        for (int i = 0; i < workers; i++) {
+            threads[i].join();
+            total += partial[i];
+        }
+        return total;
+    }
+
+    /**
+     * Copia la matriz a un único arreglo por filas (layout FLAT).
+     */
+    public static int[] flatten(int[][] matrix) {
+        int cols = matrix.length == 0 ? 0 : matrix[0].length;
+        int[] flat = new int[matrix.length * cols];
+        for (int row = 0; row < matrix.length; row++) {
+            System.arraycopy(matrix[row], 0, flat, row * cols, cols);
+        }
+        return flat;
+    }
+
+    // Busca una fila; devuelve la columna encontrada o -1
+    interface RowScanner {
+        int scan(int row);
+    }
 
+    static int[] searchRows(int rows, int threadCount, RowScanner scanner) throws InterruptedException {
+        // Sugerencia: usar AtomicBoolean para indicar si ya se encontró el número y detener hilos
+        AtomicBoolean found = new AtomicBoolean(false);
+        int[] position = new int[2]; // Solo la escribe el hilo que gana el compareAndSet; se lee después del join
+        int workers = Math.max(1, Math.min(threadCount, rows));
+        Thread[] threads = new Thread[workers];
+        int rowsPerThread = rows / workers;
+        for (int i = 0; i < workers; i++) {
+            int startRow = i * rowsPerThread; // Fila inicial para este hilo
+            int endRow = (i == workers - 1) ? rows : startRow + rowsPerThread; // El último hilo maneja el resto de filas
+            threads[i] = new Thread(() -> {
                 for (int row = startRow; row < endRow && !found.get(); row++) {
-                    for (int col = 0; col < MATRIX_SIZE && !found.get(); col++) {
-                        if (matrix[row][col] == TARGET) {
-                            found.set(true);
-                            System.out.println("Numero encontrado en la fila " + row + ", columna " + col);
-                        }
+                    int col = scanner.scan(row);
+                    if (col >= 0 && found.compareAndSet(false, true)) {
+                        position[0] = row;
+                        position[1] = col;
                     }
                 }
             });
             threads[i].start();
         }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        return found.get() ? position : null;
     }
 
-    private static void fillMatrixRandom() {
-        Random rand = new Random();
-        for (int i = 0; i < MATRIX_SIZE; i++) {
-            for (int j = 0; j < MATRIX_SIZE; j++) {
-                matrix[i][j] = rand.nextInt(1000); // Rango arbitrario
+    static int indexOf(int[] values, int from, int to, int target, Kernel kernel) {
+        return kernel == Kernel.UNROLLED
+                ? indexOfUnrolled(values, from, to, target)
+                : indexOfScalar(values, from, to, target);
+    }
+
+    private static int indexOfScalar(int[] values, int from, int to, int target) {
+        for (int i = from; i < to; i++) {
+            if (values[i] == target) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int indexOfUnrolled(int[] values, int from, int to, int target) {
+        int i = from;
+        for (; i <= to - LANES; i += LANES) {
+            // (x | -x) tiene el bit de signo apagado solo cuando x == 0, es decir, cuando la celda es el objetivo
+            int all = -1;
+            for (int j = i; j < i + LANES; j++) {
+                int x = values[j] ^ target;
+                all &= x | -x;
+            }
+            if (all >= 0) {
+                return indexOfScalar(values, i, i + LANES, target);
             }
         }
+        return indexOfScalar(values, i, to, target);
+    }
+
+    private static void printResult(int[] position) {
+        if (position != null) {
+            System.out.println("Numero encontrado en la fila " + position[0] + ", columna " + position[1]);
+        } else {
+            System.out.println("Numero no encontrado en la matriz.");
+        }
+    }
+
+    private static void fillMatrixRandom() throws InterruptedException {
+        MatrixFill.uniform(matrix, SEED, 1000, THREAD_COUNT); // Rango arbitrario
     }
 
     private static void printMatrix() {
@@ -93,4 +250,4 @@ public class ParallelMatrixSearch {
             System.out.println();
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,180 @@
+package edu.pucmm;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Búsqueda paralela de un patrón (sub-matriz) dentro de una matriz con Rabin-Karp en 2D.
+ * <p>
+ * Primero se calcula el hash rodante de cada ventana horizontal de ancho del patrón en cada fila y luego
+ * el hash rodante vertical de esos hashes de fila, así cada posición cuesta O(1) y la búsqueda completa
+ * O(filas * columnas) en lugar de O(filas * columnas * k^2). Cada coincidencia de hash se verifica celda
+ * por celda, por lo que una colisión nunca produce un resultado falso.
+ * <p>
+ * Cada hilo es dueño de una franja horizontal de posiciones iniciales y lee además las k - 1 filas
+ * siguientes a su franja (solapamiento), de modo que ninguna aparición queda partida entre hilos.
+ *
+ * @author me@fredpena.dev
+ * @created 18/10/2026  - 12:20
+ */
+public final class PatternSearch {
+
+    // Bases impares; la aritmética es módulo 2^64 (desbordamiento natural de long)
+    private static final long ROW_BASE = 0x9E3779B97F4A7C15L;
+    private static final long COL_BASE = 0xC2B2AE3D27D4EB4FL;
+
+    private PatternSearch() {
+    }
+
+    /**
+     * @return todas las posiciones {fila, columna} de la esquina superior izquierda donde aparece el patrón,
+     * ordenadas por fila y columna
+     */
+    public static List<int[]> findAll(int[][] matrix, int[][] pattern, int threadCount) throws InterruptedException {
+        return search(matrix, pattern, threadCount, false);
+    }
+
+    /**
+     * Se detiene en cuanto algún hilo encuentra el patrón, igual que la búsqueda de un valor en
+     * {@link ParallelMatrixSearch}.
+     *
+     * @return {fila, columna} de la aparición encontrada primero por algún hilo, o null si no existe
+     */
+    public static int[] findFirst(int[][] matrix, int[][] pattern, int threadCount) throws InterruptedException {
+        List<int[]> found = search(matrix, pattern, threadCount, true);
+        return found.isEmpty() ? null : found.get(0);
+    }
+
+    private static List<int[]> search(int[][] matrix, int[][] pattern, int threadCount, boolean firstOnly)
+            throws InterruptedException {
+        if (pattern.length == 0 || pattern[0].length == 0) {
+            throw new IllegalArgumentException("El patrón no puede estar vacío.");
+        }
+        int patternRows = pattern.length;
+        int patternCols = pattern[0].length;
+        int positions = matrix.length - patternRows + 1; // Filas donde puede empezar el patrón
+        if (positions <= 0 || matrix[0].length < patternCols) {
+            return new ArrayList<>();
+        }
+
+        long target = patternHash(pattern);
+        AtomicBoolean found = new AtomicBoolean(false);
+        int workers = Math.max(1, Math.min(threadCount, positions));
+        List<List<int[]>> results = new ArrayList<>();
+        Thread[] threads = new Thread[workers];
+        int rowsPerThread = positions / workers;
+        for (int i = 0; i < workers; i++) {
+            int startRow = i * rowsPerThread;
+            int endRow = (i == workers - 1) ? positions : startRow + rowsPerThread;
+            List<int[]> band = new ArrayList<>();
+            results.add(band);
+            threads[i] = new Thread(() ->
+                    searchBand(matrix, pattern, target, startRow, endRow, firstOnly ? found : null, band));
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        List<int[]> all = new ArrayList<>();
+        for (List<int[]> band : results) {
+            all.addAll(band);
+        }
+        return all;
+    }
+
+    /**
+     * Recorre las posiciones iniciales [startRow, endRow). Mantiene los hashes de fila de las últimas
+     * k filas en un anillo y un hash vertical por columna que rueda una fila a la vez.
+     * Si {@code found} no es null, se detiene en cuanto algún hilo lo marca.
+     */
+    private static void searchBand(int[][] matrix, int[][] pattern, long target, int startRow, int endRow,
+                                   AtomicBoolean found, List<int[]> out) {
+        int patternRows = pattern.length;
+        int patternCols = pattern[0].length;
+        int windows = matrix[0].length - patternCols + 1;
+        long colPower = power(COL_BASE, patternRows - 1);
+
+        long[][] ring = new long[patternRows][windows];
+        long[] vertical = new long[windows];
+        for (int i = 0; i < patternRows; i++) {
+            rowHashes(matrix[startRow + i], patternCols, ring[i]);
+            for (int c = 0; c < windows; c++) {
+                vertical[c] = vertical[c] * COL_BASE + ring[i][c];
+            }
+        }
+
+        for (int top = startRow; top < endRow; top++) {
+            if (found != null && found.get()) {
+                return;
+            }
+            for (int c = 0; c < windows; c++) {
+                if (vertical[c] == target && matches(matrix, pattern, top, c)) {
+                    if (found == null) {
+                        out.add(new int[]{top, c});
+                    } else {
+                        if (found.compareAndSet(false, true)) {
+                            out.add(new int[]{top, c});
+                        }
+                        return;
+                    }
+                }
+            }
+            if (top + 1 < endRow) {
+                // Sale la fila superior de la ventana y entra la fila top + k
+                long[] slot = ring[(top - startRow) % patternRows];
+                for (int c = 0; c < windows; c++) {
+                    vertical[c] -= slot[c] * colPower;
+                }
+                rowHashes(matrix[top + patternRows], patternCols, slot);
+                for (int c = 0; c < windows; c++) {
+                    vertical[c] = vertical[c] * COL_BASE + slot[c];
+                }
+            }
+        }
+    }
+
+    // Hash rodante de cada ventana de ancho 'width' de la fila
+    private static void rowHashes(int[] row, int width, long[] out) {
+        long rowPower = power(ROW_BASE, width - 1);
+        long hash = 0;
+        for (int j = 0; j < width; j++) {
+            hash = hash * ROW_BASE + row[j];
+        }
+        out[0] = hash;
+        for (int c = 1; c < out.length; c++) {
+            hash = (hash - row[c - 1] * rowPower) * ROW_BASE + row[c - 1 + width];
+            out[c] = hash;
+        }
+    }
+
+    private static long patternHash(int[][] pattern) {
+        long[] rowHash = new long[1];
+        long hash = 0;
+        for (int[] row : pattern) {
+            rowHashes(row, row.length, rowHash);
+            hash = hash * COL_BASE + rowHash[0];
+        }
+        return hash;
+    }
+
+    private static boolean matches(int[][] matrix, int[][] pattern, int top, int left) {
+        int width = pattern[0].length;
+        for (int i = 0; i < pattern.length; i++) {
+            if (!Arrays.equals(matrix[top + i], left, left + width, pattern[i], 0, width)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long power(long base, int exponent) {
+        long result = 1;
+        for (int i = 0; i < exponent; i++) {
+            result *= base;
+        }
+        return result;
+    }
+}
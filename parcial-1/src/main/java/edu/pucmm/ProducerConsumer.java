@@ -1,9 +1,37 @@
 package edu.pucmm;
 
-import java.util.concurrent.ArrayBlockingQueue;
+import edu.pucmm.flow.DemandRouter;
+import edu.pucmm.flow.DemandSubscriber;
+import edu.pucmm.journal.Durability;
+import edu.pucmm.journal.JournalQueue;
+import edu.pucmm.log.EventLog;
+import edu.pucmm.pipeline.Pipeline;
+import edu.pucmm.pipeline.Stage;
+import edu.pucmm.pipeline.StageStats;
+import edu.pucmm.queue.Backpressure;
+import edu.pucmm.queue.Batcher;
+import edu.pucmm.queue.ElasticConsumerPool;
+import edu.pucmm.queue.IntQueue;
+import edu.pucmm.queue.OverflowPolicy;
+import edu.pucmm.queue.PartitionedQueue;
+import edu.pucmm.queue.QueueType;
+import edu.pucmm.queue.SpillCodec;
+import edu.pucmm.queue.WaitStrategy;
+import edu.pucmm.queue.WorkStealingQueue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * @author me@fredpena.dev
@@ -15,19 +43,127 @@ public class ProducerConsumer {
     private static final int PRODUCER_COUNT = 2;
     private static final int CONSUMER_COUNT = 2;
     private static final int PRODUCE_COUNT = 100;
+    private static final long MAX_BATCH_LATENCY_MS = 5; // Tiempo máximo que un elemento espera en un lote incompleto
+    private static final long LOG_FLUSH_MS = 50; // Cada cuánto escribe el registro de eventos en consola
+    private static final long POLL_MS = 10; // Cada cuánto revisa un consumidor ocioso si quedan elementos
+
+    // Los hilos registran aquí en lugar de System.out, que sincroniza en cada println.
+    // El hilo escritor arranca con el primer evento, no al cargar la clase
+    private static final EventLog LOG = new EventLog(System.out, EventLog.Level.EVENTS, LOG_FLUSH_MS);
+
+    // Modo elastic
+    private static final int MAX_CONSUMER_COUNT = 8;
+    private static final int HIGH_WATER_MARK = QUEUE_CAPACITY / 2; // Profundidad a partir de la cual se agrega un consumidor
+    private static final long IDLE_TIMEOUT_MS = 200; // Un consumidor ocioso por más tiempo se retira
+
+    // Modo journal
+    private static final int JOURNAL_SEGMENT_BYTES = 64 * 1024;
+    private static final int JOURNAL_RETAIN_SEGMENTS = 2; // Segmentos ya leídos que se conservan
+    private static final long JOURNAL_FORCE_MS = 100; // Intervalo de forzado a disco con durability=periodic
+    private static final long JOURNAL_IDLE_MS = 1000; // Con role=consumer, tiempo sin registros nuevos para terminar
 
     public static void main(String[] args) {
         // Sugerencia: Usar ExecutorService o crear threads manualmente para iniciar Productores y Consumidores
-        BlockingQueue<Integer> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        // Opciones clave=valor, por ejemplo: ProducerConsumer queue=ring wait=park batch=8 mode=elastic
+        //   queue: array | ring | int_array | int_ring   (por defecto array, la ArrayBlockingQueue)
+        //   wait:  spin | yield | park                   (por defecto park)
+        //   batch: elementos por lote                    (por defecto 1, sin lotes)
+        //   mode:  fixed | elastic | flow | partitioned | sharded | journal | pipeline  (por defecto fixed)
+        //   request: con mode=flow, elementos que pide cada consumidor por adelantado (por defecto la
+        //            capacidad de la cola repartida entre los consumidores)
+        //   partitions: con mode=partitioned, cantidad de particiones por clave (por defecto 2 por consumidor)
+        //   journal: con mode=journal, directorio de la cola persistente (por defecto en el directorio temporal)
+        //   role:    con mode=journal, both | producer | consumer, para producir y consumir en procesos distintos
+        //   durability: con mode=journal, os | periodic  (por defecto os)
+        //   log:   off | info | events                   (por defecto events, una línea por número)
+        //   overflow: block | timeout | drop_newest | drop_oldest | sample | spill  (por defecto block)
+        //   overflow_timeout: espera máxima en ms con overflow=timeout             (por defecto 20)
+        //   sample: con overflow=sample entra 1 de cada N elementos que desbordan  (por defecto 4)
+        Map<String, String> options = parseOptions(args);
+        QueueType queueType = QueueType.valueOf(options.getOrDefault("queue", "array").toUpperCase());
+        WaitStrategy waitStrategy = WaitStrategy.valueOf(options.getOrDefault("wait", "park").toUpperCase());
+        int batchSize = Integer.parseInt(options.getOrDefault("batch", "1"));
+        String mode = options.getOrDefault("mode", "fixed").toLowerCase();
+        LOG.setLevel(EventLog.Level.valueOf(options.getOrDefault("log", "events").toUpperCase()));
+        OverflowPolicy overflow = OverflowPolicy.valueOf(options.getOrDefault("overflow", "block").toUpperCase());
+        long overflowTimeoutMs = Long.parseLong(options.getOrDefault("overflow_timeout", "20"));
+        int sampleEvery = Integer.parseInt(options.getOrDefault("sample", "4"));
+        if (overflow != OverflowPolicy.BLOCK && (queueType.isPrimitive() || batchSize > 1)) {
+            System.err.println("overflow=" + overflow.name().toLowerCase()
+                    + " requiere una cola de objetos (array o ring) y batch=1.");
+            return;
+        }
+
+        if (mode.equals("elastic")) {
+            runElastic(queueType, waitStrategy, batchSize, overflow, overflowTimeoutMs, sampleEvery);
+            return;
+        }
+        if (mode.equals("sharded")) {
+            if (queueType.isPrimitive()) {
+                System.err.println("El modo sharded requiere una cola de objetos (array o ring).");
+                return;
+            }
+            runSharded(queueType, waitStrategy);
+            return;
+        }
+        if (mode.equals("journal")) {
+            Path directory = Path.of(options.getOrDefault("journal",
+                    Path.of(System.getProperty("java.io.tmpdir"), "producer-consumer-journal").toString()));
+            String role = options.getOrDefault("role", "both").toLowerCase();
+            Durability durability = Durability.valueOf(options.getOrDefault("durability", "os").toUpperCase());
+            runJournal(directory, role, durability, waitStrategy);
+            return;
+        }
+        if (mode.equals("pipeline")) {
+            if (queueType.isPrimitive()) {
+                System.err.println("El modo pipeline requiere una cola de objetos (array o ring).");
+                return;
+            }
+            runPipeline(queueType, waitStrategy);
+            return;
+        }
+        if (mode.equals("flow")) {
+            int requestSize = Integer.parseInt(options.getOrDefault("request",
+                    String.valueOf(Math.max(1, QUEUE_CAPACITY / CONSUMER_COUNT))));
+            runFlow(waitStrategy, requestSize);
+            return;
+        }
+
         ExecutorService productor = Executors.newFixedThreadPool(PRODUCER_COUNT);
         ExecutorService consumidor = Executors.newFixedThreadPool(CONSUMER_COUNT);
 
-        // Iniciar los productores y consumidores
-        for (int i = 0; i < PRODUCER_COUNT; i++) {
-            productor.execute(new Producer(queue));
+        // Números que todavía deben consumirse o descartarse; los consumidores terminan cuando llega a 0
+        AtomicInteger remaining = new AtomicInteger(PRODUCER_COUNT * PRODUCE_COUNT);
+        if (mode.equals("partitioned")) {
+            if (queueType.isPrimitive()) {
+                System.err.println("El modo partitioned requiere una cola de objetos (array o ring).");
+                return;
+            }
+            int partitions = Integer.parseInt(options.getOrDefault("partitions", String.valueOf(2 * CONSUMER_COUNT)));
+            runPartitioned(queueType, waitStrategy, batchSize, partitions, remaining);
+            return;
         }
-        for (int i = 0; i < CONSUMER_COUNT; i++) {
-            consumidor.execute(new Consumer(queue));
+
+        // Iniciar los productores y consumidores
+        Backpressure<Integer> backpressure = null;
+        if (queueType.isPrimitive()) {
+            IntQueue queue = queueType.createInt(QUEUE_CAPACITY, waitStrategy);
+            for (int i = 0; i < PRODUCER_COUNT; i++) {
+                productor.execute(new IntProducer(queue, batchSize));
+            }
+            for (int i = 0; i < CONSUMER_COUNT; i++) {
+                consumidor.execute(new IntConsumer(queue, batchSize, remaining));
+            }
+        } else {
+            BlockingQueue<Integer> queue = queueType.create(QUEUE_CAPACITY, waitStrategy);
+            backpressure = new Backpressure<>(queue, overflow, overflowTimeoutMs, TimeUnit.MILLISECONDS,
+                    sampleEvery, SpillCodec.INT, number -> remaining.decrementAndGet());
+            for (int i = 0; i < PRODUCER_COUNT; i++) {
+                productor.execute(new Producer(queue, backpressure, batchSize));
+            }
+            for (int i = 0; i < CONSUMER_COUNT; i++) {
+                consumidor.execute(new Consumer(queue, batchSize, remaining));
+            }
         }
         productor.shutdown(); // No aceptar más tareas, pero completar las existentes
         consumidor.shutdown(); // No aceptar más tareas, pero completar las existentes
@@ -35,6 +171,9 @@ public class ProducerConsumer {
             if (!productor.awaitTermination(60, java.util.concurrent.TimeUnit.SECONDS)) {
                 productor.shutdownNow(); // Forzar el cierre si no termina en el tiempo especificado
             }
+            if (backpressure != null) {
+                backpressure.finish(); // Reinyectar lo que haya quedado en el archivo de desbordamiento
+            }
             if (!consumidor.awaitTermination(60, java.util.concurrent.TimeUnit.SECONDS)) {
                 consumidor.shutdownNow(); // Forzar el cierre si no termina en el tiempo especificado
             }
@@ -43,75 +182,670 @@ public class ProducerConsumer {
             consumidor.shutdownNow();
             System.err.println("Error al esperar la finalización de los hilos: " + e.getMessage());
         }
+        LOG.close(); // Escribir los eventos pendientes antes del mensaje final
+        if (backpressure != null) {
+            System.out.println(backpressure);
+        }
         System.out.println("Todos los productores y consumidores han terminado.");
     }
 
+    /**
+     * Consumidores elásticos: la cantidad sigue a la profundidad de la cola y la terminación se decide
+     * contando productores terminados, así que no importa cuántos productores haya ni cuánto produzcan.
+     */
+    private static void runElastic(QueueType queueType, WaitStrategy waitStrategy, int batchSize,
+                                   OverflowPolicy overflow, long overflowTimeoutMs, int sampleEvery) {
+        if (queueType.isPrimitive()) {
+            System.err.println("El modo elastic requiere una cola de objetos (array o ring).");
+            return;
+        }
+        BlockingQueue<Integer> queue = queueType.create(QUEUE_CAPACITY, waitStrategy);
+        LongAdder sum = new LongAdder();
+        // El pool ve un solo productor: el hilo principal, que avisa cuando terminaron todos los productores
+        // y se reinyectó el archivo de desbordamiento
+        ElasticConsumerPool<Integer> pool = new ElasticConsumerPool<>(queue, number -> {
+            sum.add(number);
+            process(number);
+        }, 1, 1, MAX_CONSUMER_COUNT, HIGH_WATER_MARK, batchSize, IDLE_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        pool.start();
+
+        Backpressure<Integer> backpressure = new Backpressure<>(queue, overflow, overflowTimeoutMs,
+                TimeUnit.MILLISECONDS, sampleEvery, SpillCodec.INT, number -> { });
+        ExecutorService productor = Executors.newFixedThreadPool(PRODUCER_COUNT);
+        for (int i = 0; i < PRODUCER_COUNT; i++) {
+            productor.execute(new Producer(queue, backpressure, batchSize));
+        }
+        productor.shutdown();
+        try {
+            if (productor.awaitTermination(60, TimeUnit.SECONDS)) {
+                backpressure.finish();
+            }
+            pool.producerDone();
+            if (!pool.awaitTermination(60, TimeUnit.SECONDS)) {
+                productor.shutdownNow(); // Forzar el cierre si no termina en el tiempo especificado
+                pool.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            productor.shutdownNow();
+            pool.shutdownNow();
+            System.err.println("Error al esperar la finalización de los hilos: " + e.getMessage());
+        }
+        LOG.close(); // Escribir los eventos pendientes antes del resumen
+        System.out.println("Consumidos: " + pool.getProcessed() + ", suma total: " + sum.sum()
+                + ", máximo de consumidores simultáneos: " + pool.getPeakConsumers());
+        System.out.println(backpressure);
+        System.out.println("Todos los productores y consumidores han terminado.");
+    }
+
+    /**
+     * Sin cola: cada consumidor pide {@code requestSize} números por adelantado con Flow y los productores
+     * solo envían a un consumidor con demanda pendiente. Entre todos los consumidores nunca hay más de
+     * CONSUMER_COUNT * requestSize números en vuelo, el equivalente a la capacidad de la cola.
+     */
+    private static void runFlow(WaitStrategy waitStrategy, int requestSize) {
+        long[] sums = new long[CONSUMER_COUNT]; // Cada posición la escribe solo su consumidor
+        List<DemandSubscriber<Integer>> subscribers = new ArrayList<>();
+        for (int i = 0; i < CONSUMER_COUNT; i++) {
+            int index = i;
+            subscribers.add(new DemandSubscriber<>(number -> {
+                sums[index] += number;
+                process(number);
+            }, requestSize));
+        }
+        ExecutorService consumidor = Executors.newFixedThreadPool(CONSUMER_COUNT);
+        DemandRouter<Integer> router = new DemandRouter<>(subscribers, consumidor, waitStrategy);
+
+        ExecutorService productor = Executors.newFixedThreadPool(PRODUCER_COUNT);
+        for (int i = 0; i < PRODUCER_COUNT; i++) {
+            productor.execute(new FlowProducer(router));
+        }
+        productor.shutdown();
+        try {
+            if (!productor.awaitTermination(60, TimeUnit.SECONDS)) {
+                productor.shutdownNow(); // Forzar el cierre si no termina en el tiempo especificado
+            }
+            router.close(); // Los consumidores terminan al procesar lo que ya recibieron
+            for (int i = 0; i < CONSUMER_COUNT; i++) {
+                if (subscribers.get(i).awaitCompletion(60, TimeUnit.SECONDS)) {
+                    LOG.info("Consumidor " + i + " ha terminado de consumir. Procesados: "
+                            + subscribers.get(i).getProcessed() + ", suma total: " + sums[i]);
+                }
+            }
+        } catch (InterruptedException e) {
+            productor.shutdownNow();
+            System.err.println("Error al esperar la finalización de los hilos: " + e.getMessage());
+        } finally {
+            consumidor.shutdownNow();
+        }
+        LOG.close(); // Escribir los eventos pendientes antes del resumen
+        System.out.println("Esperas de productores sin demanda: " + router.getWaits());
+        System.out.println("Todos los productores y consumidores han terminado.");
+    }
+
+    /**
+     * Cada número va a la partición de su clave (el propio número) y cada partición la procesa un solo
+     * consumidor a la vez, así los números con la misma clave se consumen en el orden en que se produjeron.
+     * El paralelismo crece con la cantidad de particiones, no con un solo consumidor por flujo ordenado.
+     */
+    private static void runPartitioned(QueueType queueType, WaitStrategy waitStrategy, int batchSize,
+                                       int partitionCount, AtomicInteger remaining) {
+        int capacityPerPartition = Math.max(1, QUEUE_CAPACITY / partitionCount);
+        PartitionedQueue<Integer> queue = new PartitionedQueue<>(partitionCount, capacityPerPartition,
+                queueType, waitStrategy);
+        ExecutorService productor = Executors.newFixedThreadPool(PRODUCER_COUNT);
+        ExecutorService consumidor = Executors.newFixedThreadPool(CONSUMER_COUNT);
+        for (int i = 0; i < CONSUMER_COUNT; i++) {
+            consumidor.execute(new PartitionedConsumer(queue, waitStrategy, batchSize, remaining));
+        }
+        for (int i = 0; i < PRODUCER_COUNT; i++) {
+            productor.execute(new PartitionedProducer(queue));
+        }
+        productor.shutdown();
+        consumidor.shutdown();
+        try {
+            if (!productor.awaitTermination(60, TimeUnit.SECONDS)) {
+                productor.shutdownNow(); // Forzar el cierre si no termina en el tiempo especificado
+            }
+            if (!consumidor.awaitTermination(60, TimeUnit.SECONDS)) {
+                consumidor.shutdownNow(); // Forzar el cierre si no termina en el tiempo especificado
+            }
+        } catch (InterruptedException e) {
+            productor.shutdownNow();
+            consumidor.shutdownNow();
+            System.err.println("Error al esperar la finalización de los hilos: " + e.getMessage());
+        }
+        LOG.close(); // Escribir los eventos pendientes antes del resumen
+        System.out.println("Particiones: " + queue.partitionCount() + ", rebalanceos: " + queue.getRebalances());
+        System.out.println("Todos los productores y consumidores han terminado.");
+    }
+
+    /**
+     * Un shard por productor: cada productor publica solo en el suyo y cada consumidor prefiere un shard y
+     * roba de los demás cuando el suyo está vacío. Ninguna cola la comparten todos los hilos, que es lo que
+     * se vuelve el cuello de botella con muchos productores y consumidores.
+     */
+    private static void runSharded(QueueType queueType, WaitStrategy waitStrategy) {
+        int capacityPerShard = Math.max(1, QUEUE_CAPACITY / PRODUCER_COUNT);
+        WorkStealingQueue<Integer> queue = new WorkStealingQueue<>(PRODUCER_COUNT, capacityPerShard, queueType,
+                waitStrategy, PRODUCER_COUNT);
+        ExecutorService productor = Executors.newFixedThreadPool(PRODUCER_COUNT);
+        ExecutorService consumidor = Executors.newFixedThreadPool(CONSUMER_COUNT);
+        for (int i = 0; i < PRODUCER_COUNT; i++) {
+            productor.execute(new ShardedProducer(queue, i));
+        }
+        for (int i = 0; i < CONSUMER_COUNT; i++) {
+            consumidor.execute(new ShardedConsumer(queue.worker(i)));
+        }
+        productor.shutdown();
+        consumidor.shutdown();
+        try {
+            if (!productor.awaitTermination(60, TimeUnit.SECONDS)) {
+                productor.shutdownNow(); // Forzar el cierre si no termina en el tiempo especificado
+            }
+            if (!consumidor.awaitTermination(60, TimeUnit.SECONDS)) {
+                consumidor.shutdownNow(); // Forzar el cierre si no termina en el tiempo especificado
+            }
+        } catch (InterruptedException e) {
+            productor.shutdownNow();
+            consumidor.shutdownNow();
+            System.err.println("Error al esperar la finalización de los hilos: " + e.getMessage());
+        }
+        LOG.close(); // Escribir los eventos pendientes antes del resumen
+        System.out.println("Tomados del shard propio: " + queue.getLocalTakes() + ", robos: " + queue.getSteals()
+                + " (" + queue.getStolenItems() + " elementos)");
+        System.out.println("Todos los productores y consumidores han terminado.");
+    }
+
+    /**
+     * Los productores agregan al journal en disco y los consumidores leen con un cursor compartido
+     * ("consumidores"); cada uno confirma los números que procesó y el cursor guarda la posición hasta el
+     * primer número sin confirmar. Con role=producer o role=consumer cada lado corre en un proceso distinto
+     * sobre el mismo directorio; si el consumidor se cae, al reiniciarlo continúa desde ese número.
+     */
+    private static void runJournal(Path directory, String role, Durability durability, WaitStrategy waitStrategy) {
+        boolean produce = !role.equals("consumer");
+        boolean consume = !role.equals("producer");
+        try (JournalQueue journal = new JournalQueue(directory, JOURNAL_SEGMENT_BYTES, JOURNAL_RETAIN_SEGMENTS,
+                durability, JOURNAL_FORCE_MS, TimeUnit.MILLISECONDS)) {
+            ExecutorService productor = Executors.newFixedThreadPool(PRODUCER_COUNT);
+            ExecutorService consumidor = Executors.newFixedThreadPool(CONSUMER_COUNT);
+            // En el mismo proceso los consumidores terminan cuando terminaron los productores y no queda nada;
+            // en un proceso aparte, cuando pasa JOURNAL_IDLE_MS sin registros nuevos
+            AtomicBoolean producersDone = new AtomicBoolean(!produce);
+            long idleExitNanos = produce ? Long.MAX_VALUE : TimeUnit.MILLISECONDS.toNanos(JOURNAL_IDLE_MS);
+            if (produce) {
+                for (int i = 0; i < PRODUCER_COUNT; i++) {
+                    productor.execute(new JournalProducer(journal));
+                }
+            }
+            if (consume) {
+                JournalQueue.Reader reader = journal.reader("consumidores");
+                for (int i = 0; i < CONSUMER_COUNT; i++) {
+                    consumidor.execute(new JournalConsumer(reader, waitStrategy, producersDone, idleExitNanos));
+                }
+            }
+            productor.shutdown();
+            consumidor.shutdown();
+            try {
+                if (!productor.awaitTermination(60, TimeUnit.SECONDS)) {
+                    productor.shutdownNow(); // Forzar el cierre si no termina en el tiempo especificado
+                }
+                producersDone.set(true);
+                if (!consumidor.awaitTermination(60, TimeUnit.SECONDS)) {
+                    consumidor.shutdownNow(); // Forzar el cierre si no termina en el tiempo especificado
+                }
+            } catch (InterruptedException e) {
+                productor.shutdownNow();
+                consumidor.shutdownNow();
+                System.err.println("Error al esperar la finalización de los hilos: " + e.getMessage());
+            }
+        } catch (IOException e) {
+            System.err.println("Error en el journal " + directory + ": " + e.getMessage());
+        }
+        LOG.close(); // Escribir los eventos pendientes antes del mensaje final
+        System.out.println("Journal: " + directory);
+        System.out.println("Todos los productores y consumidores han terminado.");
+    }
+
+    /**
+     * productor → transformar → enriquecer → consumir. transformar y enriquecer no tienen estado y se
+     * fusionan (un solo buffer y los mismos hilos); consumir acumula la suma y conserva su propia etapa.
+     * Al final se imprime la utilización de cada etapa para ver cuál conviene escalar.
+     */
+    private static void runPipeline(QueueType queueType, WaitStrategy waitStrategy) {
+        LongAdder sum = new LongAdder();
+        Pipeline<Integer, Integer> pipeline = new Pipeline<>(
+                new Stage<Integer, Integer>("transformar", 2, QUEUE_CAPACITY, true, number -> number * 2))
+                .then(new Stage<Integer, Integer>("enriquecer", 2, QUEUE_CAPACITY, true,
+                        number -> number % 3 == 0 ? null : number)) // Descarta los múltiplos de 3
+                .then(new Stage<Integer, Integer>("consumir", CONSUMER_COUNT, QUEUE_CAPACITY, false, number -> {
+                    sum.add(number);
+                    process(number);
+                    return null;
+                }));
+        Pipeline.Execution<Integer> execution = pipeline.start(queueType, waitStrategy);
+
+        ExecutorService productor = Executors.newFixedThreadPool(PRODUCER_COUNT);
+        for (int i = 0; i < PRODUCER_COUNT; i++) {
+            productor.execute(new PipelineProducer(execution));
+        }
+        productor.shutdown();
+        try {
+            if (!productor.awaitTermination(60, TimeUnit.SECONDS)) {
+                productor.shutdownNow(); // Forzar el cierre si no termina en el tiempo especificado
+            }
+            execution.complete();
+            if (!execution.awaitTermination(60, TimeUnit.SECONDS)) {
+                execution.shutdownNow(); // Forzar el cierre si no termina en el tiempo especificado
+            }
+        } catch (InterruptedException e) {
+            productor.shutdownNow();
+            execution.shutdownNow();
+            System.err.println("Error al esperar la finalización de los hilos: " + e.getMessage());
+        }
+        LOG.close(); // Escribir los eventos pendientes antes del reporte
+        for (StageStats stats : execution.report()) {
+            System.out.println(stats);
+        }
+        System.out.println("Suma total: " + sum.sum() + ", cuello de botella: " + execution.bottleneck().name());
+        System.out.println("Todos los productores y consumidores han terminado.");
+    }
+
+    // Procesamiento de un número en los modos elastic, flow, partitioned, sharded, journal y pipeline
+    private static void process(int number) {
+        LOG.event("Consumidor ", Thread.currentThread().getName(), " consumio: ", number);
+        try {
+            Thread.sleep(10); // Simular tiempo de procesamiento
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // Restaurar el estado de interrupción
+        }
+    }
+
+    public static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Opción inválida (se espera clave=valor): " + arg);
+            }
+            options.put(arg.substring(0, separator).toLowerCase(), arg.substring(separator + 1));
+        }
+        return options;
+    }
+
     static class Producer implements Runnable {
         private final BlockingQueue<Integer> queue;
-        Producer (BlockingQueue<Integer> queue) {
+        private final Backpressure<Integer> backpressure; // Qué hacer con la cola llena
+        private final int batchSize;
+        Producer (BlockingQueue<Integer> queue, Backpressure<Integer> backpressure, int batchSize) {
             this.queue = queue;
+            this.backpressure = backpressure;
+            this.batchSize = batchSize;
         }
         @Override
         public void run() {
             // Generar PRODUCE_COUNT números aleatorios y colocarlos en la cola
             // Sugerencia: usar Thread.sleep(10) para simular tiempo de producción
+            // Los números se publican en lotes de batchSize (o antes, si el más antiguo supera MAX_BATCH_LATENCY_MS);
+            // sin lotes, cada número pasa por la política de desbordamiento
+            Batcher<Integer> batcher = batchSize > 1
+                    ? new Batcher<>(queue, batchSize, MAX_BATCH_LATENCY_MS, TimeUnit.MILLISECONDS)
+                    : null;
             try {
                 for (int i = 0; i < PRODUCE_COUNT; i++) {
                     int number = (int) (Math.random() * 100); // Generar número aleatorio
-                    queue.put(number); // Colocar en la cola
-                    System.out.println("Productor " + Thread.currentThread().getName() + " produjo: " + number);
+                    if (batcher != null) {
+                        batcher.add(number); // Colocar en la cola
+                        LOG.event("Productor ", Thread.currentThread().getName(), " produjo: ", number);
+                    } else if (backpressure.publish(number)) {
+                        LOG.event("Productor ", Thread.currentThread().getName(), " produjo: ", number);
+                    } else {
+                        LOG.event("Productor ", Thread.currentThread().getName(), " descarto: ", number);
+                    }
                     Thread.sleep(10); // Simular tiempo de producción
                 }
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt(); // Restaurar el estado de interrupción
-                System.err.println("Productor interrumpido: " + e.getMessage());
-            }
-            System.out.println("Productor " + Thread.currentThread().getName() + " ha terminado de producir.");
-            try {
-                // Asegurarse de que la cola esté vacía al finalizar
-                while (!queue.isEmpty()) {
-                    queue.take();
+                if (batcher != null) {
+                    batcher.flush(); // Publicar el último lote incompleto
                 }
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt(); // Restaurar el estado de interrupción
-                System.err.println("Error al limpiar la cola: " + e.getMessage());
+                System.err.println("Productor interrumpido: " + e.getMessage());
             }
-            System.out.println("Productor " + Thread.currentThread().getName() + " ha limpiado la cola.");
+            LOG.info("Productor " + Thread.currentThread().getName() + " ha terminado de producir.");
         }
     }
 
     static class Consumer implements Runnable {
         private final BlockingQueue<Integer> queue;
-        Consumer (BlockingQueue<Integer> queue) {
+        private final int batchSize;
+        private final AtomicInteger remaining; // Compartido: números aún no consumidos ni descartados
+        Consumer (BlockingQueue<Integer> queue, int batchSize, AtomicInteger remaining) {
             this.queue = queue;
+            this.batchSize = batchSize;
+            this.remaining = remaining;
         }
         @Override
         public void run() {
             // Extraer elementos de la cola y procesarlos (ej: sumarlos)
             // Sugerencia: llevar la suma total por hilo y reportar al final
             int sum = 0;
+            List<Integer> batch = new ArrayList<>(batchSize);
+            try {
+                // Con descartes ningún consumidor sabe cuántos números le tocan: se revisa el contador compartido
+                while (remaining.get() > 0) {
+                    batch.clear();
+                    // Una espera por lote: toma uno y extrae los disponibles hasta completar el lote
+                    int taken = Batcher.pollBatch(queue, batch, batchSize, POLL_MS, TimeUnit.MILLISECONDS);
+                    remaining.addAndGet(-taken);
+                    for (Integer number : batch) {
+                        sum += number; // Sumar el número
+                        LOG.event("Consumidor ", Thread.currentThread().getName(), " consumio: ", number);
+                        Thread.sleep(10); // Simular tiempo de procesamiento
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt(); // Restaurar el estado de interrupción
+                System.err.println("Consumidor interrumpido: " + e.getMessage());
+            }
+            LOG.info("Consumidor " + Thread.currentThread().getName() + " ha terminado de consumir. Suma total: " + sum);
+        }
+    }
+
+    // Igual que Producer, pero envía cada número a un consumidor con demanda en lugar de una cola
+    static class FlowProducer implements Runnable {
+        private final DemandRouter<Integer> router;
+        FlowProducer (DemandRouter<Integer> router) {
+            this.router = router;
+        }
+        @Override
+        public void run() {
+            try {
+                for (int i = 0; i < PRODUCE_COUNT; i++) {
+                    int number = (int) (Math.random() * 100); // Generar número aleatorio
+                    router.publish(number); // Espera a que algún consumidor lo pida
+                    LOG.event("Productor ", Thread.currentThread().getName(), " produjo: ", number);
+                    Thread.sleep(10); // Simular tiempo de producción
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt(); // Restaurar el estado de interrupción
+                System.err.println("Productor interrumpido: " + e.getMessage());
+            }
+            LOG.info("Productor " + Thread.currentThread().getName() + " ha terminado de producir.");
+        }
+    }
+
+    // Igual que Producer, pero cada número va a la partición de su clave
+    static class PartitionedProducer implements Runnable {
+        private final PartitionedQueue<Integer> queue;
+        PartitionedProducer (PartitionedQueue<Integer> queue) {
+            this.queue = queue;
+        }
+        @Override
+        public void run() {
+            try {
+                for (int i = 0; i < PRODUCE_COUNT; i++) {
+                    int number = (int) (Math.random() * 100); // Generar número aleatorio
+                    queue.put(number, number); // La clave es el propio número
+                    LOG.event("Productor ", Thread.currentThread().getName(), " produjo: ", number);
+                    Thread.sleep(10); // Simular tiempo de producción
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt(); // Restaurar el estado de interrupción
+                System.err.println("Productor interrumpido: " + e.getMessage());
+            }
+            LOG.info("Productor " + Thread.currentThread().getName() + " ha terminado de producir.");
+        }
+    }
+
+    // Igual que Producer, pero publica solo en su propio shard
+    static class ShardedProducer implements Runnable {
+        private final WorkStealingQueue<Integer> queue;
+        private final int shard;
+        ShardedProducer (WorkStealingQueue<Integer> queue, int shard) {
+            this.queue = queue;
+            this.shard = shard;
+        }
+        @Override
+        public void run() {
             try {
                 for (int i = 0; i < PRODUCE_COUNT; i++) {
-                    Integer number = queue.take(); // Extraer de la cola
+                    int number = (int) (Math.random() * 100); // Generar número aleatorio
+                    queue.put(shard, number); // Colocar en su shard
+                    LOG.event("Productor ", Thread.currentThread().getName(), " produjo: ", number);
+                    Thread.sleep(10); // Simular tiempo de producción
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt(); // Restaurar el estado de interrupción
+                System.err.println("Productor interrumpido: " + e.getMessage());
+            } finally {
+                queue.producerDone();
+            }
+            LOG.info("Productor " + Thread.currentThread().getName() + " ha terminado de producir.");
+        }
+    }
+
+    // Consume de su shard y roba de los demás hasta que la cola detecta la terminación global
+    static class ShardedConsumer implements Runnable {
+        private final WorkStealingQueue<Integer>.Worker worker;
+        ShardedConsumer (WorkStealingQueue<Integer>.Worker worker) {
+            this.worker = worker;
+        }
+        @Override
+        public void run() {
+            int sum = 0;
+            try {
+                Integer number;
+                while ((number = worker.take()) != null) {
                     sum += number; // Sumar el número
-                    System.out.println("Consumidor " + Thread.currentThread().getName() + " consumio: " + number);
-                    Thread.sleep(10); // Simular tiempo de procesamiento
+                    process(number);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt(); // Restaurar el estado de interrupción
+                System.err.println("Consumidor interrumpido: " + e.getMessage());
+            }
+            LOG.info("Consumidor " + Thread.currentThread().getName() + " ha terminado de consumir. Suma total: " + sum);
+        }
+    }
+
+    // Igual que Producer, pero publica en la primera etapa del pipeline
+    static class PipelineProducer implements Runnable {
+        private final Pipeline.Execution<Integer> execution;
+        PipelineProducer (Pipeline.Execution<Integer> execution) {
+            this.execution = execution;
+        }
+        @Override
+        public void run() {
+            try {
+                for (int i = 0; i < PRODUCE_COUNT; i++) {
+                    int number = (int) (Math.random() * 100); // Generar número aleatorio
+                    execution.submit(number); // Espera si el buffer de la primera etapa está lleno
+                    LOG.event("Productor ", Thread.currentThread().getName(), " produjo: ", number);
+                    Thread.sleep(10); // Simular tiempo de producción
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt(); // Restaurar el estado de interrupción
+                System.err.println("Productor interrumpido: " + e.getMessage());
+            }
+            LOG.info("Productor " + Thread.currentThread().getName() + " ha terminado de producir.");
+        }
+    }
+
+    // Igual que Producer, pero agrega cada número al journal en disco
+    static class JournalProducer implements Runnable {
+        private final JournalQueue journal;
+        JournalProducer (JournalQueue journal) {
+            this.journal = journal;
+        }
+        @Override
+        public void run() {
+            try {
+                for (int i = 0; i < PRODUCE_COUNT; i++) {
+                    int number = (int) (Math.random() * 100); // Generar número aleatorio
+                    journal.appendInt(number); // Agregar al journal
+                    LOG.event("Productor ", Thread.currentThread().getName(), " produjo: ", number);
+                    Thread.sleep(10); // Simular tiempo de producción
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt(); // Restaurar el estado de interrupción
+                System.err.println("Productor interrumpido: " + e.getMessage());
+            } catch (IOException e) {
+                System.err.println("Error al escribir en el journal: " + e.getMessage());
+            }
+            LOG.info("Productor " + Thread.currentThread().getName() + " ha terminado de producir.");
+        }
+    }
+
+    // Lee del cursor compartido y confirma cada número después de procesarlo
+    static class JournalConsumer implements Runnable {
+        private final JournalQueue.Reader reader;
+        private final WaitStrategy waitStrategy;
+        private final AtomicBoolean producersDone;
+        private final long idleExitNanos;
+        JournalConsumer (JournalQueue.Reader reader, WaitStrategy waitStrategy, AtomicBoolean producersDone,
+                         long idleExitNanos) {
+            this.reader = reader;
+            this.waitStrategy = waitStrategy;
+            this.producersDone = producersDone;
+            this.idleExitNanos = idleExitNanos;
+        }
+        @Override
+        public void run() {
+            int sum = 0;
+            try {
+                int attempt = 0;
+                long idleSince = System.nanoTime();
+                while (true) {
+                    boolean done = producersDone.get(); // Antes de leer: si ya terminaron, todo lo escrito es visible
+                    long record = reader.readInt();
+                    if (record != JournalQueue.EMPTY) {
+                        int number = (int) record;
+                        sum += number; // Sumar el número
+                        process(number);
+                        reader.commit();
+                        attempt = 0;
+                        idleSince = System.nanoTime();
+                    } else if (done || System.nanoTime() - idleSince >= idleExitNanos) {
+                        break;
+                    } else {
+                        if (Thread.interrupted()) {
+                            throw new InterruptedException();
+                        }
+                        waitStrategy.idle(attempt++);
+                    }
                 }
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt(); // Restaurar el estado de interrupción
                 System.err.println("Consumidor interrumpido: " + e.getMessage());
+            } catch (IOException e) {
+                System.err.println("Error al leer el journal: " + e.getMessage());
             }
-            System.out.println("Consumidor " + Thread.currentThread().getName() + " ha terminado de consumir. Suma total: " + sum);
+            LOG.info("Consumidor " + Thread.currentThread().getName() + " ha terminado de consumir. Suma total: " + sum);
+        }
+    }
+
+    // Se registra en la cola particionada, procesa sus particiones y se retira al terminar
+    static class PartitionedConsumer implements Runnable {
+        private final PartitionedQueue<Integer> queue;
+        private final WaitStrategy waitStrategy;
+        private final int batchSize;
+        private final AtomicInteger remaining;
+        private long sum;
+        PartitionedConsumer (PartitionedQueue<Integer> queue, WaitStrategy waitStrategy, int batchSize,
+                             AtomicInteger remaining) {
+            this.queue = queue;
+            this.waitStrategy = waitStrategy;
+            this.batchSize = batchSize;
+            this.remaining = remaining;
+        }
+        @Override
+        public void run() {
+            int member = queue.join();
             try {
-                // Asegurarse de que la cola esté vacía al finalizar
-                while (!queue.isEmpty()) {
-                    queue.take();
+                int attempt = 0;
+                while (remaining.get() > 0) {
+                    int processed = queue.drain(member, number -> {
+                        sum += number; // Sumar el número
+                        process(number);
+                    }, batchSize);
+                    if (processed > 0) {
+                        remaining.addAndGet(-processed);
+                        attempt = 0;
+                    } else {
+                        waitStrategy.idle(attempt++); // Ninguna de sus particiones tiene elementos
+                    }
                 }
+            } finally {
+                queue.leave(member); // Sus particiones pasan a los consumidores que quedan
+            }
+            LOG.info("Consumidor " + Thread.currentThread().getName() + " ha terminado de consumir. Suma total: " + sum);
+        }
+    }
+
+    // Igual que Producer, pero sobre una cola de int primitivos: el lote es un int[] reutilizado
+    static class IntProducer implements Runnable {
+        private final IntQueue queue;
+        private final int[] batch;
+        IntProducer (IntQueue queue, int batchSize) {
+            this.queue = queue;
+            this.batch = new int[batchSize];
+        }
+        @Override
+        public void run() {
+            long maxLatencyNanos = TimeUnit.MILLISECONDS.toNanos(MAX_BATCH_LATENCY_MS);
+            int size = 0;
+            long oldest = 0;
+            try {
+                for (int i = 0; i < PRODUCE_COUNT; i++) {
+                    int number = (int) (Math.random() * 100); // Generar número aleatorio
+                    if (size == 0) {
+                        oldest = System.nanoTime();
+                    }
+                    batch[size++] = number;
+                    if (size == batch.length || System.nanoTime() - oldest >= maxLatencyNanos) {
+                        queue.putBatch(batch, 0, size); // Colocar en la cola
+                        size = 0;
+                    }
+                    LOG.event("Productor ", Thread.currentThread().getName(), " produjo: ", number);
+                    Thread.sleep(10); // Simular tiempo de producción
+                }
+                queue.putBatch(batch, 0, size); // Publicar el último lote incompleto
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt(); // Restaurar el estado de interrupción
-                System.err.println("Error al limpiar la cola: " + e.getMessage());
+                System.err.println("Productor interrumpido: " + e.getMessage());
+            }
+            LOG.info("Productor " + Thread.currentThread().getName() + " ha terminado de producir.");
+        }
+    }
+
+    // Igual que Consumer, pero sobre una cola de int primitivos
+    static class IntConsumer implements Runnable {
+        private final IntQueue queue;
+        private final int[] batch;
+        private final AtomicInteger remaining; // Compartido: números aún no consumidos
+        IntConsumer (IntQueue queue, int batchSize, AtomicInteger remaining) {
+            this.queue = queue;
+            this.batch = new int[batchSize];
+            this.remaining = remaining;
+        }
+        @Override
+        public void run() {
+            int sum = 0;
+            try {
+                // Como en Consumer: cada consumidor toma lo que haya hasta que el contador compartido llega a 0
+                while (remaining.get() > 0) {
+                    int taken = queue.pollBatch(batch, batch.length, POLL_MS, TimeUnit.MILLISECONDS);
+                    remaining.addAndGet(-taken);
+                    for (int i = 0; i < taken; i++) {
+                        sum += batch[i]; // Sumar el número
+                        LOG.event("Consumidor ", Thread.currentThread().getName(), " consumio: ", batch[i]);
+                        Thread.sleep(10); // Simular tiempo de procesamiento
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt(); // Restaurar el estado de interrupción
+                System.err.println("Consumidor interrumpido: " + e.getMessage());
             }
-            System.out.println("Consumidor " + Thread.currentThread().getName() + " ha limpiado la cola.");
+            LOG.info("Consumidor " + Thread.currentThread().getName() + " ha terminado de consumir. Suma total: " + sum);
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,77 @@
+package edu.pucmm.bench;
+
+/**
+ * Histograma de latencias en nanosegundos con cubetas log-lineales: cada potencia de 2 se divide en
+ * 32 cubetas, así cualquier percentil tiene un error relativo menor a ~3% y registrar cuesta O(1) sin
+ * reservar memoria. No es thread-safe: cada hilo registra en el suyo y al final se combinan con {@link #add}.
+ *
+ * @author me@fredpena.dev
+ * @created 18/10/2026  - 23:40
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+
+    private final long[] counts = new long[(64 - SUB_BITS + 2) * SUB_BUCKETS];
+    private long total;
+    private long max;
+
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts[index(value)]++;
+        total++;
+        max = Math.max(max, value);
+    }
+
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        total += other.total;
+        max = Math.max(max, other.max);
+    }
+
+    public long getCount() {
+        return total;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * @param percentile entre 0 y 100, por ejemplo 99.9
+     * @return latencia en nanosegundos bajo la cual queda ese porcentaje de las muestras (0 si no hay)
+     */
+    public long percentile(double percentile) {
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(max, upperBound(i));
+            }
+        }
+        return max;
+    }
+
+    // Hasta 2^(SUB_BITS+1) el valor es exacto; después se descartan bits bajos hasta dejar SUB_BITS+1 bits,
+    // el bit alto está siempre encendido y los otros SUB_BITS eligen la cubeta dentro de la potencia de 2
+    private static int index(long value) {
+        int magnitude = Math.max(0, 64 - Long.numberOfLeadingZeros(value) - SUB_BITS - 1);
+        return magnitude * SUB_BUCKETS + (int) (value >>> magnitude);
+    }
+
+    private static long upperBound(int index) {
+        if (index < 2 * SUB_BUCKETS) {
+            return index;
+        }
+        int magnitude = index / SUB_BUCKETS - 1;
+        long sub = index - (long) magnitude * SUB_BUCKETS;
+        return ((sub + 1) << magnitude) - 1;
+    }
+}
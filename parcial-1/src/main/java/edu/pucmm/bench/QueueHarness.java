@@ -0,0 +1,243 @@
+package edu.pucmm.bench;
+
+import edu.pucmm.ProducerConsumer;
+import edu.pucmm.queue.Batcher;
+import edu.pucmm.queue.IntQueue;
+import edu.pucmm.queue.QueueType;
+import edu.pucmm.queue.WaitStrategy;
+
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Corrida larga de las colas de ProducerConsumer, sin Thread.sleep, que mide elementos por segundo y
+ * latencia de encolar a desencolar (p50, p99, p999 y máxima) para cada combinación de cola, proporción
+ * productores:consumidores y tamaño de lote. El resultado es CSV, una fila por combinación.
+ * <p>
+ * Cada elemento lleva el instante en que se produjo: un Long de System.nanoTime en las colas de objetos y
+ * un int relativo al inicio en las primitivas (la resta de int con desborde es correcta mientras la
+ * latencia sea menor a ~2 s). Solo cuentan los elementos consumidos dentro de la ventana de medición,
+ * después del calentamiento. Cada consumidor registra en su propio {@link LatencyHistogram}.
+ * <p>
+ * Opciones clave=valor, por ejemplo: QueueHarness queues=array,ring ratios=1:1,4:4 batches=1,16 duration=5
+ * <ul>
+ *     <li>queues: array, ring, int_array, int_ring (por defecto todas)</li>
+ *     <li>ratios: productores:consumidores (por defecto 1:1,1:4,4:1,4:4)</li>
+ *     <li>batches: tamaños de lote (por defecto 1,16)</li>
+ *     <li>capacity (1024), wait (park), warmup y duration en segundos (1 y 3)</li>
+ *     <li>out: archivo CSV (por defecto la salida estándar)</li>
+ * </ul>
+ *
+ * @author me@fredpena.dev
+ * @created 18/10/2026  - 23:40
+ */
+public class QueueHarness {
+
+    private static final String HEADER =
+            "queue,producers,consumers,batch,capacity,wait,items_per_sec,p50_ns,p99_ns,p999_ns,max_ns,samples";
+    private static final long MAX_BATCH_LATENCY_MS = 1; // Un lote incompleto no espera más que esto
+
+    private final QueueType queueType;
+    private final int producers;
+    private final int consumers;
+    private final int batch;
+    private final int capacity;
+    private final WaitStrategy waitStrategy;
+
+    // Señales del hilo principal a los productores y consumidores
+    private volatile boolean measuring;
+    private volatile boolean stopped;
+    private volatile boolean producersDone;
+
+    public QueueHarness(QueueType queueType, int producers, int consumers, int batch, int capacity,
+                        WaitStrategy waitStrategy) {
+        this.queueType = queueType;
+        this.producers = producers;
+        this.consumers = consumers;
+        this.batch = batch;
+        this.capacity = capacity;
+        this.waitStrategy = waitStrategy;
+    }
+
+    public static void main(String[] args) throws InterruptedException, FileNotFoundException {
+        Map<String, String> options = ProducerConsumer.parseOptions(args);
+        String[] queues = options.getOrDefault("queues", "array,ring,int_array,int_ring").split(",");
+        String[] ratios = options.getOrDefault("ratios", "1:1,1:4,4:1,4:4").split(",");
+        String[] batches = options.getOrDefault("batches", "1,16").split(",");
+        int capacity = Integer.parseInt(options.getOrDefault("capacity", "1024"));
+        WaitStrategy waitStrategy = WaitStrategy.valueOf(options.getOrDefault("wait", "park").toUpperCase());
+        long warmupMs = TimeUnit.SECONDS.toMillis(Long.parseLong(options.getOrDefault("warmup", "1")));
+        long durationMs = TimeUnit.SECONDS.toMillis(Long.parseLong(options.getOrDefault("duration", "3")));
+        String file = options.get("out");
+
+        PrintStream out = file == null ? System.out : new PrintStream(file);
+        try {
+            out.println(HEADER);
+            for (String queue : queues) {
+                for (String ratio : ratios) {
+                    String[] sides = ratio.split(":");
+                    for (String size : batches) {
+                        QueueHarness harness = new QueueHarness(QueueType.valueOf(queue.trim().toUpperCase()),
+                                Integer.parseInt(sides[0]), Integer.parseInt(sides[1]),
+                                Integer.parseInt(size.trim()), capacity, waitStrategy);
+                        out.println(harness.run(warmupMs, durationMs));
+                        out.flush();
+                    }
+                }
+            }
+        } finally {
+            if (out != System.out) {
+                out.close();
+            }
+        }
+    }
+
+    /**
+     * Calienta {@code warmupMs}, mide durante {@code durationMs} y deja que los consumidores vacíen la cola.
+     *
+     * @return la fila CSV de esta combinación
+     */
+    public String run(long warmupMs, long durationMs) throws InterruptedException {
+        long base = System.nanoTime(); // Origen de los instantes int de las colas primitivas
+        List<Thread> producerThreads = new ArrayList<>();
+        List<Thread> consumerThreads = new ArrayList<>();
+        long[] consumed = new long[consumers];
+        LatencyHistogram[] histograms = new LatencyHistogram[consumers];
+
+        if (queueType.isPrimitive()) {
+            IntQueue queue = queueType.createInt(capacity, waitStrategy);
+            for (int i = 0; i < producers; i++) {
+                producerThreads.add(new Thread(() -> produceInts(queue, base)));
+            }
+            for (int i = 0; i < consumers; i++) {
+                int index = i;
+                histograms[i] = new LatencyHistogram();
+                consumerThreads.add(new Thread(() -> consumed[index] = consumeInts(queue, base, histograms[index])));
+            }
+        } else {
+            BlockingQueue<Long> queue = queueType.create(capacity, waitStrategy);
+            for (int i = 0; i < producers; i++) {
+                producerThreads.add(new Thread(() -> produce(queue)));
+            }
+            for (int i = 0; i < consumers; i++) {
+                int index = i;
+                histograms[i] = new LatencyHistogram();
+                consumerThreads.add(new Thread(() -> consumed[index] = consume(queue, histograms[index])));
+            }
+        }
+
+        consumerThreads.forEach(Thread::start);
+        producerThreads.forEach(Thread::start);
+        Thread.sleep(warmupMs);
+        long start = System.nanoTime();
+        measuring = true;
+        Thread.sleep(durationMs);
+        measuring = false;
+        long window = System.nanoTime() - start;
+        stopped = true;
+        for (Thread thread : producerThreads) {
+            thread.join();
+        }
+        producersDone = true;
+        for (Thread thread : consumerThreads) {
+            thread.join();
+        }
+
+        long items = 0;
+        LatencyHistogram latency = new LatencyHistogram();
+        for (int i = 0; i < consumers; i++) {
+            items += consumed[i];
+            latency.add(histograms[i]);
+        }
+        double itemsPerSecond = items / (window / 1e9);
+        return String.join(",", queueType.name().toLowerCase(), String.valueOf(producers),
+                String.valueOf(consumers), String.valueOf(batch), String.valueOf(capacity),
+                waitStrategy.name().toLowerCase(), String.format("%.0f", itemsPerSecond),
+                String.valueOf(latency.percentile(50)), String.valueOf(latency.percentile(99)),
+                String.valueOf(latency.percentile(99.9)), String.valueOf(latency.getMax()),
+                String.valueOf(latency.getCount()));
+    }
+
+    private void produce(BlockingQueue<Long> queue) {
+        Batcher<Long> batcher = new Batcher<>(queue, batch, MAX_BATCH_LATENCY_MS, TimeUnit.MILLISECONDS);
+        try {
+            while (!stopped) {
+                batcher.add(System.nanoTime());
+            }
+            batcher.flush();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // Restaurar el estado de interrupción
+        }
+    }
+
+    // Los consumidores no bloquean: así pueden ver que los productores terminaron y la cola quedó vacía
+    private long consume(BlockingQueue<Long> queue, LatencyHistogram histogram) {
+        List<Long> buffer = new ArrayList<>(batch);
+        long count = 0;
+        int attempt = 0;
+        while (true) {
+            boolean done = producersDone; // Antes de extraer: si ya terminaron, todo lo publicado es visible
+            int taken = queue.drainTo(buffer, batch);
+            if (taken == 0) {
+                if (done && queue.isEmpty()) {
+                    return count;
+                }
+                waitStrategy.idle(attempt++);
+                continue;
+            }
+            attempt = 0;
+            if (measuring) {
+                long now = System.nanoTime();
+                for (Long produced : buffer) {
+                    histogram.record(now - produced);
+                }
+                count += taken;
+            }
+            buffer.clear();
+        }
+    }
+
+    private void produceInts(IntQueue queue, long base) {
+        int[] values = new int[batch];
+        try {
+            while (!stopped) {
+                for (int i = 0; i < batch; i++) {
+                    values[i] = (int) (System.nanoTime() - base);
+                }
+                queue.putBatch(values, 0, batch);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // Restaurar el estado de interrupción
+        }
+    }
+
+    private long consumeInts(IntQueue queue, long base, LatencyHistogram histogram) {
+        int[] values = new int[batch];
+        long count = 0;
+        int attempt = 0;
+        while (true) {
+            boolean done = producersDone;
+            int taken = queue.drainTo(values, 0, batch);
+            if (taken == 0) {
+                if (done && queue.size() == 0) {
+                    return count;
+                }
+                waitStrategy.idle(attempt++);
+                continue;
+            }
+            attempt = 0;
+            if (measuring) {
+                int now = (int) (System.nanoTime() - base);
+                for (int i = 0; i < taken; i++) {
+                    histogram.record(now - values[i]); // Resta de int: correcta aunque el reloj relativo desborde
+                }
+                count += taken;
+            }
+        }
+    }
+}
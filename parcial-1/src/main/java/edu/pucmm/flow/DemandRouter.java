@@ -0,0 +1,84 @@
+package edu.pucmm.flow;
+
+import edu.pucmm.queue.WaitStrategy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Reparte los elementos de varios productores entre consumidores {@link DemandSubscriber} según su demanda.
+ * <p>
+ * Cada consumidor tiene su propio {@link SubmissionPublisher}, que entrega los elementos en el
+ * {@code executor} y garantiza señales seriales. Un {@link SubmissionPublisher} compartido no sirve porque
+ * difunde cada elemento a todos sus suscriptores. Antes de enviar, el productor reserva un crédito de
+ * demanda de algún consumidor (empezando por turnos para repartir la carga); si ninguno pidió más, espera
+ * con el {@link WaitStrategy} configurado. Así el buffer de cada publisher nunca pasa de lo pedido y submit
+ * nunca bloquea: la contrapresión viene de la demanda y no de una cola bloqueante.
+ *
+ * @author me@fredpena.dev
+ * @created 18/10/2026  - 20:50
+ */
+public class DemandRouter<T> implements AutoCloseable {
+
+    private final List<DemandSubscriber<T>> subscribers;
+    private final List<SubmissionPublisher<T>> publishers = new ArrayList<>();
+    private final WaitStrategy waitStrategy;
+    private final AtomicInteger next = new AtomicInteger();
+    private final LongAdder waits = new LongAdder(); // Veces que un productor no encontró demanda
+
+    public DemandRouter(List<DemandSubscriber<T>> subscribers, Executor executor, WaitStrategy waitStrategy) {
+        if (subscribers.isEmpty()) {
+            throw new IllegalArgumentException("Se requiere al menos un consumidor.");
+        }
+        this.subscribers = List.copyOf(subscribers);
+        this.waitStrategy = waitStrategy;
+        for (DemandSubscriber<T> subscriber : this.subscribers) {
+            SubmissionPublisher<T> publisher = new SubmissionPublisher<>(executor, subscriber.getRequestSize());
+            publisher.subscribe(subscriber);
+            publishers.add(publisher);
+        }
+    }
+
+    /**
+     * Espera hasta que algún consumidor tenga demanda pendiente y le envía el elemento.
+     */
+    public void publish(T item) throws InterruptedException {
+        int count = subscribers.size();
+        int attempt = 0;
+        while (true) {
+            int start = Math.floorMod(next.getAndIncrement(), count);
+            for (int i = 0; i < count; i++) {
+                int index = (start + i) % count;
+                if (subscribers.get(index).tryReserve()) {
+                    publishers.get(index).submit(item);
+                    return;
+                }
+            }
+            if (attempt == 0) {
+                waits.increment();
+            }
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            waitStrategy.idle(attempt++);
+        }
+    }
+
+    public long getWaits() {
+        return waits.sum();
+    }
+
+    /**
+     * Cierra los publishers: cada consumidor recibe onComplete después de procesar lo que ya tenía.
+     */
+    @Override
+    public void close() {
+        for (SubmissionPublisher<T> publisher : publishers) {
+            publisher.close();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package edu.pucmm.flow;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Consumidor reactivo que pide elementos por adelantado en lugar de tomarlos de una cola.
+ * <p>
+ * Al suscribirse pide {@code requestSize} elementos y cada vez que procesa la mitad vuelve a pedir esa
+ * mitad, así nunca tiene más de {@code requestSize} elementos pendientes y no se queda sin trabajo mientras
+ * llega la siguiente tanda. Además publica esa demanda como créditos que {@link DemandRouter} reserva antes
+ * de enviar un elemento: un productor nunca envía más de lo que el consumidor pidió.
+ *
+ * @author me@fredpena.dev
+ * @created 18/10/2026  - 20:50
+ */
+public class DemandSubscriber<T> implements Flow.Subscriber<T> {
+
+    private final Consumer<? super T> handler;
+    private final int requestSize;
+    private final int replenish;
+    private final AtomicLong credits = new AtomicLong(); // Demanda aún no reservada por un productor
+    private final CountDownLatch completed = new CountDownLatch(1);
+
+    private Flow.Subscription subscription;
+    private int sinceRequest; // Solo lo usa el hilo que entrega onNext (las señales son seriales)
+    private long processed;
+
+    public DemandSubscriber(Consumer<? super T> handler, int requestSize) {
+        if (requestSize < 1) {
+            throw new IllegalArgumentException("requestSize debe ser mayor que 0.");
+        }
+        this.handler = handler;
+        this.requestSize = requestSize;
+        this.replenish = Math.max(1, requestSize / 2);
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        this.subscription = subscription;
+        request(requestSize);
+    }
+
+    @Override
+    public void onNext(T item) {
+        handler.accept(item);
+        processed++;
+        if (++sinceRequest == replenish) {
+            sinceRequest = 0;
+            request(replenish);
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        System.err.println("Error en el flujo: " + throwable.getMessage());
+        completed.countDown();
+    }
+
+    @Override
+    public void onComplete() {
+        completed.countDown();
+    }
+
+    /**
+     * Reserva un elemento de la demanda pendiente.
+     *
+     * @return false si el consumidor no pidió más elementos
+     */
+    boolean tryReserve() {
+        long available;
+        do {
+            available = credits.get();
+            if (available == 0) {
+                return false;
+            }
+        } while (!credits.compareAndSet(available, available - 1));
+        return true;
+    }
+
+    int getRequestSize() {
+        return requestSize;
+    }
+
+    public boolean awaitCompletion(long timeout, TimeUnit unit) throws InterruptedException {
+        return completed.await(timeout, unit);
+    }
+
+    /**
+     * @return elementos procesados; exacto después de {@link #awaitCompletion}
+     */
+    public long getProcessed() {
+        return processed;
+    }
+
+    private void request(int n) {
+        credits.addAndGet(n);
+        subscription.request(n);
+    }
+}
@@ -0,0 +1,15 @@
+package edu.pucmm.journal;
+
+/**
+ * Cuándo llegan a disco los registros de un {@link JournalQueue}.
+ * OS deja la escritura al sistema operativo: sobrevive a la caída del proceso, pero no a la del equipo.
+ * PERIODIC además fuerza los segmentos y cursores a disco cada cierto intervalo y al cerrar cada segmento,
+ * así una caída del equipo pierde como máximo ese intervalo.
+ *
+ * @author me@fredpena.dev
+ * @created 18/10/2026  - 22:20
+ */
+public enum Durability {
+    OS,
+    PERIODIC
+}
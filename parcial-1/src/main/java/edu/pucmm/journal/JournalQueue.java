@@ -0,0 +1,433 @@
+package edu.pucmm.journal;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+/**
+ * Cola persistente de solo-agregar sobre archivos de segmento mapeados en memoria.
+ * <p>
+ * Los registros se escriben uno tras otro en segmentos de tamaño fijo ({@code 00000000000000000000.seg},
+ * ...). Cada registro es un encabezado int con el largo seguido de los datos, alineado a 4 bytes. El
+ * encabezado se escribe último y con semántica release, así que un lector (de este u otro proceso) que
+ * ve un largo distinto de 0 ve también los datos completos; un registro a medias por una caída tiene
+ * encabezado 0 y al reabrir se borra junto con el resto del segmento. Cuando un registro no cabe, se crea el siguiente segmento y
+ * se deja un marcador de salto en el actual; si el proceso se cae entre los dos pasos, al reabrir se escribe
+ * el marcador que falta.
+ * <p>
+ * Cada consumidor lee con su propio {@link Reader}, identificado por nombre, cuya posición se guarda en un
+ * archivo {@code nombre.cursor}. Los segmentos que ya leyeron todos los cursores se borran, salvo los últimos
+ * {@code retainSegments}; eso lo hace un hilo de fondo después de cada salto, así agregar no lee cursores
+ * del disco. Puede haber un solo proceso escritor (con varios hilos); lectores, los que sean.
+ *
+ * @author me@fredpena.dev
+ * @created 18/10/2026  - 22:20
+ */
+public class JournalQueue implements AutoCloseable {
+
+    /**
+     * Lo devuelve {@link Reader#readInt()} cuando no hay registros nuevos.
+     */
+    public static final long EMPTY = Long.MIN_VALUE;
+
+    private static final int HEADER = 4;
+    private static final int ROLL = -1; // El resto del segmento está vacío: seguir en el siguiente
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final String CURSOR_SUFFIX = ".cursor";
+
+    private static final VarHandle INT = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.nativeOrder());
+    private static final VarHandle LONG = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    private final Path directory;
+    private final int segmentSize;
+    private final int retainSegments;
+    private final Durability durability;
+
+    // Estado del escritor, protegido por synchronized (this)
+    private long writeSegment;
+    private MappedByteBuffer writeBuffer;
+    private int writeOffset;
+
+    private final List<Reader> readers = new CopyOnWriteArrayList<>();
+    private final Thread maintenance; // Retención y, con PERIODIC, forzado a disco
+    private final long forceIntervalNanos;
+    private volatile boolean retentionDue;
+    private volatile boolean closed;
+
+    /**
+     * Abre el journal del directorio (lo crea si no existe) y continúa después del último registro completo.
+     *
+     * @param forceInterval cada cuánto se fuerza a disco con {@link Durability#PERIODIC}
+     */
+    public JournalQueue(Path directory, int segmentSize, int retainSegments, Durability durability,
+                        long forceInterval, TimeUnit unit) throws IOException {
+        if (segmentSize < 4 * HEADER || segmentSize % HEADER != 0) {
+            throw new IllegalArgumentException("El tamaño de segmento debe ser múltiplo de 4 y al menos 16 bytes.");
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.retainSegments = retainSegments;
+        this.durability = durability;
+        Files.createDirectories(directory);
+
+        long[] range = segmentRange();
+        this.writeSegment = range == null ? 0 : range[1];
+        this.writeBuffer = map(segmentPath(writeSegment), segmentSize);
+        this.writeOffset = recover(writeBuffer);
+        clearTail(writeBuffer, writeOffset);
+        if (range != null && range[1] > range[0]) {
+            closeSegment(range[1] - 1);
+        }
+
+        this.forceIntervalNanos = unit.toNanos(forceInterval);
+        this.maintenance = new Thread(this::maintenanceLoop, "journal-maintenance");
+        this.maintenance.setDaemon(true);
+        this.maintenance.start();
+    }
+
+    /**
+     * Agrega un registro con {@code length} bytes de {@code data} a partir de {@code offset}.
+     */
+    public synchronized void append(byte[] data, int offset, int length) throws IOException {
+        if (length <= 0 || length > segmentSize - 2 * HEADER) {
+            throw new IllegalArgumentException("Largo de registro inválido: " + length);
+        }
+        ensureCapacity(length);
+        writeBuffer.put(writeOffset + HEADER, data, offset, length);
+        publish(length);
+    }
+
+    /**
+     * Agrega un registro de 4 bytes sin crear arreglos intermedios.
+     */
+    public synchronized void appendInt(int value) throws IOException {
+        ensureCapacity(Integer.BYTES);
+        writeBuffer.putInt(writeOffset + HEADER, value);
+        publish(Integer.BYTES);
+    }
+
+    /**
+     * Abre (o crea) el cursor con ese nombre. Un Reader puede compartirse entre hilos que se reparten
+     * los registros (cada hilo confirma los suyos con {@link Reader#commit()}); consumidores que deben ver
+     * todos los registros usan nombres distintos.
+     */
+    public Reader reader(String name) throws IOException {
+        Reader reader = new Reader(name);
+        readers.add(reader);
+        return reader;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Detiene el hilo de fondo; con PERIODIC fuerza a disco todo lo pendiente.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        LockSupport.unpark(maintenance);
+        try {
+            maintenance.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // Restaurar el estado de interrupción
+        }
+        if (durability == Durability.PERIODIC) {
+            force();
+        }
+    }
+
+    private void ensureCapacity(int length) throws IOException {
+        if (closed) {
+            throw new IllegalStateException("El journal está cerrado.");
+        }
+        // Siempre queda espacio para el marcador de salto al final del segmento
+        if (writeOffset + 2 * HEADER + align(length) > segmentSize) {
+            roll();
+        }
+    }
+
+    private void publish(int length) {
+        INT.setRelease(writeBuffer, writeOffset, length); // El encabezado publica los datos ya escritos
+        writeOffset += HEADER + align(length);
+    }
+
+    private void roll() throws IOException {
+        // El siguiente segmento existe antes del marcador, así un lector que lo ve siempre puede abrirlo
+        MappedByteBuffer next = map(segmentPath(writeSegment + 1), segmentSize);
+        INT.setRelease(writeBuffer, writeOffset, ROLL);
+        if (durability == Durability.PERIODIC) {
+            writeBuffer.force(); // Un segmento cerrado queda completo en disco
+        }
+        writeSegment++;
+        writeBuffer = next;
+        writeOffset = 0;
+        retentionDue = true;
+        LockSupport.unpark(maintenance);
+    }
+
+    // Un salto que se cortó después de crear el siguiente segmento deja al anterior sin marcador, y los
+    // lectores quedarían esperando en su final
+    private void closeSegment(long segment) throws IOException {
+        Path path = segmentPath(segment);
+        if (!Files.exists(path)) {
+            return; // Ya se borró por retención
+        }
+        MappedByteBuffer buffer = map(path, segmentSize);
+        int tail = recover(buffer);
+        if (tail + HEADER <= segmentSize && (int) INT.getAcquire(buffer, tail) == 0) {
+            INT.setRelease(buffer, tail, ROLL);
+            buffer.force();
+        }
+    }
+
+    // Con PERIODIC se despierta cada forceIntervalNanos; si no, solo cuando un salto pide retención
+    private void maintenanceLoop() {
+        while (!closed) {
+            if (durability == Durability.PERIODIC) {
+                LockSupport.parkNanos(forceIntervalNanos);
+                force();
+            } else {
+                LockSupport.park();
+            }
+            if (retentionDue && !closed) {
+                retentionDue = false;
+                try {
+                    applyRetention();
+                } catch (IOException e) {
+                    System.err.println("Error al aplicar la retención del journal: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    // Borra los segmentos que todos los cursores ya pasaron, salvo los últimos retainSegments
+    private void applyRetention() throws IOException {
+        long minSegment = Long.MAX_VALUE;
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (file.getFileName().toString().endsWith(CURSOR_SUFFIX)) {
+                    minSegment = Math.min(minSegment, readCursor(file) / segmentSize);
+                }
+            }
+        }
+        if (minSegment == Long.MAX_VALUE) {
+            return; // Sin cursores no se sabe qué se puede borrar
+        }
+        long[] range = segmentRange();
+        for (long segment = range[0]; segment < minSegment - retainSegments; segment++) {
+            Files.deleteIfExists(segmentPath(segment));
+        }
+    }
+
+    private void force() {
+        MappedByteBuffer current;
+        synchronized (this) {
+            current = writeBuffer;
+        }
+        current.force();
+        for (Reader reader : readers) {
+            reader.cursor.force();
+        }
+    }
+
+    // Posición siguiente al último registro completo del segmento
+    private int recover(MappedByteBuffer buffer) {
+        int offset = 0;
+        while (offset + HEADER <= segmentSize) {
+            int length = (int) INT.getAcquire(buffer, offset);
+            if (length <= 0) {
+                break; // 0: sin escribir; ROLL no debería estar en el último segmento
+            }
+            offset += HEADER + align(length);
+        }
+        return offset;
+    }
+
+    // Los datos de un registro a medias quedan después del último encabezado; si no se borran, un registro
+    // más corto escrito encima deja bytes viejos donde va el próximo encabezado y un lector los toma por uno
+    private void clearTail(MappedByteBuffer buffer, int from) {
+        boolean dirty = false;
+        for (int offset = from; offset < segmentSize; offset++) {
+            if (buffer.get(offset) != 0) {
+                buffer.put(offset, (byte) 0);
+                dirty = true;
+            }
+        }
+        if (dirty) {
+            buffer.force();
+        }
+    }
+
+    private long readCursor(Path file) throws IOException {
+        byte[] bytes = Files.readAllBytes(file);
+        return bytes.length < Long.BYTES ? 0 : ByteBuffer.wrap(bytes).order(ByteOrder.nativeOrder()).getLong();
+    }
+
+    // {primer, último} segmento existente, o null si no hay ninguno
+    private long[] segmentRange() throws IOException {
+        long first = Long.MAX_VALUE;
+        long last = -1;
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(SEGMENT_SUFFIX)) {
+                    long index = Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+                    first = Math.min(first, index);
+                    last = Math.max(last, index);
+                }
+            }
+        }
+        return last < 0 ? null : new long[]{first, last};
+    }
+
+    private Path segmentPath(long segment) {
+        return directory.resolve(String.format("%020d%s", segment, SEGMENT_SUFFIX));
+    }
+
+    private static MappedByteBuffer map(Path file, int size) throws IOException {
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, size); // Agranda el archivo si hace falta
+        }
+    }
+
+    private static int align(int length) {
+        return (length + HEADER - 1) & -HEADER;
+    }
+
+    /**
+     * Cursor de lectura con nombre. Las lecturas avanzan la posición en memoria; {@link #commit()} confirma
+     * los registros que leyó el hilo que llama y guarda en el archivo la posición hasta la que todos los
+     * registros anteriores están confirmados. Si varios hilos comparten el Reader, un registro leído por un
+     * hilo que todavía no confirmó frena lo que guardan los demás: al reabrir se continúa desde el primer
+     * registro sin confirmar (entrega al menos una vez, sin huecos).
+     */
+    public final class Reader {
+        private final MappedByteBuffer cursor;
+        private long segment;
+        private int offset;
+        private MappedByteBuffer buffer;
+        // Registros leídos y todavía no guardados en el cursor, en orden de lectura
+        private final ArrayDeque<Pending> pending = new ArrayDeque<>();
+
+        private Reader(String name) throws IOException {
+            this.cursor = map(directory.resolve(name + CURSOR_SUFFIX), Long.BYTES);
+            long position = (long) LONG.getAcquire(cursor, 0);
+            long[] range = segmentRange();
+            if (range != null && position / segmentSize < range[0]) {
+                position = range[0] * segmentSize; // Lo anterior ya se borró por retención
+            }
+            this.segment = position / segmentSize;
+            this.offset = (int) (position % segmentSize);
+            this.buffer = map(segmentPath(segment), segmentSize);
+        }
+
+        /**
+         * Copia el siguiente registro en {@code out}.
+         *
+         * @return largo del registro, o -1 si no hay registros nuevos
+         */
+        public synchronized int read(byte[] out) throws IOException {
+            int length = nextLength();
+            if (length == 0) {
+                return -1;
+            }
+            if (length > out.length) {
+                throw new IllegalArgumentException("El registro ocupa " + length + " bytes; el arreglo tiene " + out.length);
+            }
+            buffer.get(offset + HEADER, out, 0, length);
+            advance(length);
+            return length;
+        }
+
+        /**
+         * Lee el siguiente registro escrito con {@link #appendInt}.
+         *
+         * @return el valor, o {@link #EMPTY} si no hay registros nuevos
+         */
+        public synchronized long readInt() throws IOException {
+            int length = nextLength();
+            if (length == 0) {
+                return EMPTY;
+            }
+            int value = buffer.getInt(offset + HEADER);
+            advance(length);
+            return value;
+        }
+
+        /**
+         * Confirma los registros que leyó este hilo y guarda la posición siguiente al último registro
+         * confirmado sin huecos: al reabrir el cursor se continúa desde ahí.
+         */
+        public synchronized void commit() {
+            Thread current = Thread.currentThread();
+            for (Pending record : pending) {
+                if (record.owner == current) {
+                    record.done = true;
+                }
+            }
+            long watermark = -1;
+            for (Iterator<Pending> it = pending.iterator(); it.hasNext(); ) {
+                Pending record = it.next();
+                if (!record.done) {
+                    break; // Otro hilo todavía lo está procesando
+                }
+                watermark = record.end;
+                it.remove();
+            }
+            if (watermark >= 0) {
+                LONG.setRelease(cursor, 0, watermark);
+            }
+        }
+
+        public synchronized long position() {
+            return segment * segmentSize + offset;
+        }
+
+        private void advance(int length) {
+            offset += HEADER + align(length);
+            pending.addLast(new Pending(segment * segmentSize + offset, Thread.currentThread()));
+        }
+
+        // Largo del registro en la posición actual, siguiendo los marcadores de salto; 0 si no hay
+        private int nextLength() throws IOException {
+            while (true) {
+                int length = (int) INT.getAcquire(buffer, offset);
+                if (length != ROLL) {
+                    return length;
+                }
+                segment++;
+                offset = 0;
+                buffer = map(segmentPath(segment), segmentSize);
+            }
+        }
+    }
+
+    // Registro leído: posición siguiente a él y el hilo que debe confirmarlo
+    private static final class Pending {
+        private final long end;
+        private final Thread owner;
+        private boolean done;
+
+        private Pending(long end, Thread owner) {
+            this.end = end;
+            this.owner = owner;
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package edu.pucmm.log;
+
+import java.io.PrintStream;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Registro de eventos asíncrono para hilos de trabajo.
+ * <p>
+ * Cada hilo escribe en su propio buffer, sin tocar el PrintStream (que sincroniza en cada println).
+ * Un hilo escritor en segundo plano recorre los buffers cada {@code flushIntervalMs} y escribe todo lo
+ * acumulado con una sola operación. El único lock que toma un hilo de trabajo es el de su propio buffer,
+ * y solo compite con el escritor durante el barrido. Los eventos de un mismo hilo conservan su orden;
+ * entre hilos distintos el orden es el de cada barrido.
+ * <p>
+ * El escritor arranca con el primer evento, así crear el registro no inicia ningún hilo. Cada buffer tiene
+ * un tope: si el escritor no da abasto, los eventos que no caben se descartan y se cuentan
+ * ({@link #getDropped()}). El buffer de un hilo que terminó se quita de la lista después de vaciarlo, así
+ * un pool que crea y retira hilos no acumula buffers.
+ *
+ * @author me@fredpena.dev
+ * @created 18/10/2026  - 19:30
+ */
+public class EventLog implements AutoCloseable {
+
+    /**
+     * Nivel de detalle: OFF no registra nada, INFO solo resúmenes, EVENTS además un evento por elemento.
+     */
+    public enum Level {
+        OFF,
+        INFO,
+        EVENTS
+    }
+
+    // Un buffer por encima de este tamaño despierta al escritor antes del próximo barrido
+    private static final int WAKE_UP_CHARS = 64 * 1024;
+    // Desde este tamaño los eventos del hilo se descartan hasta el próximo barrido
+    private static final int MAX_BUFFER_CHARS = 1024 * 1024;
+
+    private static final class Buffer {
+        private final StringBuilder text = new StringBuilder();
+        private final Thread owner = Thread.currentThread();
+    }
+
+    private final PrintStream out;
+    private final long flushIntervalNanos;
+    private volatile Level level;
+    private volatile boolean closed;
+    private volatile boolean started;
+    private final LongAdder dropped = new LongAdder();
+
+    private final List<Buffer> buffers = new CopyOnWriteArrayList<>();
+    private final ThreadLocal<Buffer> local = ThreadLocal.withInitial(() -> {
+        Buffer buffer = new Buffer();
+        buffers.add(buffer);
+        return buffer;
+    });
+    private final Thread writer;
+
+    public EventLog(PrintStream out, Level level, long flushIntervalMs) {
+        this.out = out;
+        this.level = level;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        this.writer = new Thread(this::writeLoop, "event-log-writer");
+        this.writer.setDaemon(true);
+    }
+
+    public void setLevel(Level level) {
+        this.level = level;
+    }
+
+    /**
+     * @return eventos descartados porque el buffer de su hilo estaba lleno
+     */
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    public boolean isEnabled(Level level) {
+        return level != Level.OFF && this.level.compareTo(level) >= 0;
+    }
+
+    public void info(String message) {
+        if (isEnabled(Level.INFO)) {
+            append(message, null, null, 0, false);
+        }
+    }
+
+    /**
+     * Registra "prefix name action value" (por ejemplo "Productor ", nombre del hilo, " produjo: ", 42)
+     * sin concatenar cadenas en el hilo que llama.
+     */
+    public void event(String prefix, String name, String action, long value) {
+        if (isEnabled(Level.EVENTS)) {
+            append(prefix, name, action, value, true);
+        }
+    }
+
+    /**
+     * Detiene el escritor y escribe lo que quede pendiente. Los eventos registrados después se descartan.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            closed = true;
+            if (!started) {
+                return; // Nunca se registró nada
+            }
+        }
+        LockSupport.unpark(writer);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // Restaurar el estado de interrupción
+        }
+        long lost = dropped.sum();
+        if (lost > 0) {
+            out.println("Registro de eventos: " + lost + " eventos descartados por buffers llenos.");
+            out.flush();
+        }
+    }
+
+    private void append(String prefix, String name, String action, long value, boolean withValue) {
+        if (closed) {
+            return;
+        }
+        if (!started) {
+            start();
+        }
+        Buffer buffer = local.get();
+        int length;
+        synchronized (buffer) {
+            StringBuilder text = buffer.text;
+            if (text.length() >= MAX_BUFFER_CHARS) {
+                dropped.increment();
+                return;
+            }
+            text.append(prefix);
+            if (name != null) {
+                text.append(name);
+            }
+            if (action != null) {
+                text.append(action);
+            }
+            if (withValue) {
+                text.append(value);
+            }
+            text.append(System.lineSeparator());
+            length = text.length();
+        }
+        if (length >= WAKE_UP_CHARS) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    private synchronized void start() {
+        if (!started && !closed) {
+            writer.start();
+            started = true;
+        }
+    }
+
+    private void writeLoop() {
+        StringBuilder batch = new StringBuilder();
+        while (!closed) {
+            LockSupport.parkNanos(flushIntervalNanos);
+            drain(batch);
+        }
+        drain(batch);
+    }
+
+    private void drain(StringBuilder batch) {
+        for (Buffer buffer : buffers) {
+            boolean finished = !buffer.owner.isAlive(); // Antes de vaciar: después ya no puede agregar nada
+            synchronized (buffer) {
+                batch.append(buffer.text);
+                buffer.text.setLength(0);
+            }
+            if (finished) {
+                buffers.remove(buffer);
+            }
+        }
+        if (!batch.isEmpty()) {
+            out.print(batch);
+            out.flush();
+            batch.setLength(0);
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package edu.pucmm.pipeline;
+
+import edu.pucmm.queue.QueueType;
+import edu.pucmm.queue.WaitStrategy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Cadena de etapas productor → etapa → ... → etapa, cada una con sus hilos y su buffer acotado.
+ * <p>
+ * Se arma con {@code new Pipeline<>(primera).then(segunda).then(tercera)} (cada then devuelve un pipeline
+ * nuevo, con el tipo de salida de la última etapa) y se ejecuta con {@link #start}. Los productores
+ * publican con {@link Execution#submit}; un buffer lleno los hace esperar, igual que put en una cola, y la
+ * contrapresión llega etapa por etapa hasta ellos.
+ * <p>
+ * Las etapas sin estado consecutivas se fusionan en un grupo: los hilos del grupo aplican todas sus
+ * funciones seguidas, sin buffer entre ellas. El grupo usa el mayor paralelismo de sus etapas y el buffer
+ * de la primera. El tiempo de cada función se mide por etapa, así el reporte sigue mostrando cuál etapa
+ * es el cuello de botella aunque esté fusionada.
+ *
+ * @author me@fredpena.dev
+ * @created 18/10/2026  - 23:00
+ */
+public class Pipeline<I, O> {
+
+    private static final long POLL_MS = 10; // Cada cuánto revisa un hilo ocioso si la etapa anterior terminó
+
+    private final List<Stage<?, ?>> stages;
+
+    public Pipeline(Stage<I, O> first) {
+        this.stages = List.of(first);
+    }
+
+    private Pipeline(List<Stage<?, ?>> stages) {
+        this.stages = stages;
+    }
+
+    public <R> Pipeline<I, R> then(Stage<? super O, R> next) {
+        List<Stage<?, ?>> extended = new ArrayList<>(stages);
+        extended.add(next);
+        return new Pipeline<>(Collections.unmodifiableList(extended));
+    }
+
+    /**
+     * Agrupa las etapas (fusionando las sin estado consecutivas), crea los buffers e inicia los hilos.
+     */
+    public Execution<I> start(QueueType queueType, WaitStrategy waitStrategy) {
+        List<List<Integer>> groups = new ArrayList<>();
+        for (int i = 0; i < stages.size(); i++) {
+            boolean fuse = i > 0 && stages.get(i - 1).isStateless() && stages.get(i).isStateless();
+            if (!fuse) {
+                groups.add(new ArrayList<>());
+            }
+            groups.get(groups.size() - 1).add(i);
+        }
+        return new Execution<>(stages, groups, queueType, waitStrategy);
+    }
+
+    /**
+     * Pipeline en ejecución.
+     */
+    public static final class Execution<I> {
+
+        private final List<StageState> states = new ArrayList<>();
+        private final List<Group> groups = new ArrayList<>();
+        private final long startNanos = System.nanoTime();
+        private volatile long endNanos; // 0 mientras algún grupo siga trabajando
+
+        private Execution(List<Stage<?, ?>> stages, List<List<Integer>> layout, QueueType queueType,
+                          WaitStrategy waitStrategy) {
+            for (int i = 0; i < stages.size(); i++) {
+                states.add(new StageState(stages.get(i)));
+            }
+            states.get(states.size() - 1).sink = true;
+            for (int g = 0; g < layout.size(); g++) {
+                List<StageState> members = new ArrayList<>();
+                int parallelism = 0;
+                for (int index : layout.get(g)) {
+                    members.add(states.get(index));
+                    states.get(index).group = g;
+                    parallelism = Math.max(parallelism, stages.get(index).getParallelism());
+                }
+                int capacity = members.get(0).stage.getCapacity();
+                groups.add(new Group(g, members, parallelism, queueType.create(capacity, waitStrategy)));
+            }
+            for (int g = 0; g < groups.size(); g++) {
+                groups.get(g).start(g + 1 < groups.size() ? groups.get(g + 1) : null);
+            }
+        }
+
+        /**
+         * Publica un elemento en la primera etapa, esperando si su buffer está lleno.
+         */
+        public void submit(I item) throws InterruptedException {
+            groups.get(0).buffer.put(item);
+        }
+
+        /**
+         * Avisa que no habrá más elementos: cada etapa termina al vaciar su buffer y la siguiente después.
+         */
+        public void complete() {
+            groups.get(0).upstreamDone = true;
+        }
+
+        public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+            long deadline = System.nanoTime() + unit.toNanos(timeout);
+            for (Group group : groups) {
+                for (Thread worker : group.workers) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        return false;
+                    }
+                    TimeUnit.NANOSECONDS.timedJoin(worker, remaining);
+                    if (worker.isAlive()) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+
+        public void shutdownNow() {
+            for (Group group : groups) {
+                for (Thread worker : group.workers) {
+                    worker.interrupt();
+                }
+            }
+        }
+
+        /**
+         * @return métricas de cada etapa, en el orden del pipeline
+         */
+        public List<StageStats> report() {
+            long end = endNanos;
+            long elapsed = Math.max(1, (end == 0 ? System.nanoTime() : end) - startNanos);
+            List<StageStats> report = new ArrayList<>();
+            for (StageState state : states) {
+                Group group = groups.get(state.group);
+                long busy = state.busyNanos.sum();
+                report.add(new StageStats(state.stage.getName(), state.group, group.parallelism,
+                        state.processed.sum(), state.filtered.sum(), state.failed.sum(), busy,
+                        (double) busy / ((double) elapsed * group.parallelism), group.buffer.size()));
+            }
+            return report;
+        }
+
+        /**
+         * @return la etapa con mayor utilización: la primera candidata a más paralelismo
+         */
+        public StageStats bottleneck() {
+            return report().stream().max(Comparator.comparingDouble(StageStats::utilization)).orElseThrow();
+        }
+
+        private static final class StageState {
+            private final Stage<?, ?> stage;
+            private final Function<Object, Object> function;
+            private final LongAdder processed = new LongAdder();
+            private final LongAdder filtered = new LongAdder();
+            private final LongAdder failed = new LongAdder();
+            private final LongAdder busyNanos = new LongAdder();
+            private int group;
+            private boolean sink; // Última etapa: su resultado se descarta, devolver null no es filtrar
+
+            @SuppressWarnings("unchecked")
+            private StageState(Stage<?, ?> stage) {
+                this.stage = stage;
+                this.function = (Function<Object, Object>) stage.getFunction();
+            }
+        }
+
+        private final class Group {
+            private final int index;
+            private final List<StageState> members;
+            private final int parallelism;
+            private final BlockingQueue<Object> buffer;
+            private final List<Thread> workers = new ArrayList<>();
+            private final AtomicInteger live;
+            private volatile boolean upstreamDone;
+
+            private Group(int index, List<StageState> members, int parallelism, BlockingQueue<Object> buffer) {
+                this.index = index;
+                this.members = members;
+                this.parallelism = parallelism;
+                this.buffer = buffer;
+                this.live = new AtomicInteger(parallelism);
+            }
+
+            private void start(Group next) {
+                String name = members.get(0).stage.getName();
+                for (int i = 0; i < parallelism; i++) {
+                    Thread worker = new Thread(() -> work(next), "stage-" + name + "-" + i);
+                    workers.add(worker);
+                    worker.start();
+                }
+            }
+
+            private void work(Group next) {
+                try {
+                    while (true) {
+                        boolean done = upstreamDone; // Antes del poll: si ya terminó, todo lo publicado es visible
+                        Object item = buffer.poll(POLL_MS, TimeUnit.MILLISECONDS);
+                        if (item == null) {
+                            if (done && buffer.isEmpty()) {
+                                return;
+                            }
+                            continue;
+                        }
+                        Object value = apply(item);
+                        if (value != null && next != null) {
+                            next.buffer.put(value);
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt(); // Restaurar el estado de interrupción
+                } finally {
+                    if (live.decrementAndGet() == 0) {
+                        if (next != null) {
+                            next.upstreamDone = true;
+                        } else {
+                            endNanos = System.nanoTime();
+                        }
+                    }
+                }
+            }
+
+            // Aplica las funciones del grupo en orden; null si alguna descarta el elemento o falla
+            private Object apply(Object item) {
+                Object value = item;
+                for (StageState state : members) {
+                    long start = System.nanoTime();
+                    try {
+                        value = state.function.apply(value);
+                    } catch (RuntimeException e) {
+                        state.failed.increment();
+                        System.err.println("Error en la etapa " + state.stage.getName() + " (grupo " + index + "): "
+                                + e.getMessage());
+                        return null;
+                    } finally {
+                        state.busyNanos.add(System.nanoTime() - start);
+                    }
+                    state.processed.increment();
+                    if (value == null) {
+                        if (!state.sink) {
+                            state.filtered.increment();
+                        }
+                        return null;
+                    }
+                }
+                return value;
+            }
+        }
+    }
+}
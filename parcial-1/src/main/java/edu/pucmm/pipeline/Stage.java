@@ -0,0 +1,55 @@
+package edu.pucmm.pipeline;
+
+import java.util.function.Function;
+
+/**
+ * Una etapa de un {@link Pipeline}: transforma cada elemento con {@code function}, que puede devolver null
+ * para descartarlo. {@code parallelism} hilos procesan la etapa y {@code capacity} acota el buffer de entrada.
+ * <p>
+ * Una etapa sin estado ({@code stateless}) puede fusionarse con sus vecinas sin estado: los mismos hilos
+ * aplican ambas funciones seguidas y el elemento no pasa por un buffer intermedio. Una etapa con estado
+ * (por ejemplo, que acumula) conserva siempre sus propios hilos y su buffer.
+ *
+ * @author me@fredpena.dev
+ * @created 18/10/2026  - 23:00
+ */
+public final class Stage<I, O> {
+
+    private final String name;
+    private final int parallelism;
+    private final int capacity;
+    private final boolean stateless;
+    private final Function<? super I, ? extends O> function;
+
+    public Stage(String name, int parallelism, int capacity, boolean stateless,
+                 Function<? super I, ? extends O> function) {
+        if (parallelism < 1 || capacity < 1) {
+            throw new IllegalArgumentException("La etapa " + name + " requiere paralelismo y capacidad mayores que 0.");
+        }
+        this.name = name;
+        this.parallelism = parallelism;
+        this.capacity = capacity;
+        this.stateless = stateless;
+        this.function = function;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public boolean isStateless() {
+        return stateless;
+    }
+
+    Function<? super I, ? extends O> getFunction() {
+        return function;
+    }
+}
@@ -0,0 +1,20 @@
+package edu.pucmm.pipeline;
+
+/**
+ * Métricas de una etapa al momento de pedir el reporte.
+ * {@code utilization} es el tiempo dentro de la función dividido entre el tiempo disponible de los hilos
+ * de la etapa (transcurrido por paralelismo): cerca de 1 indica que la etapa es el cuello de botella.
+ * Las etapas fusionadas comparten {@code group} y sus hilos.
+ *
+ * @author me@fredpena.dev
+ * @created 18/10/2026  - 23:00
+ */
+public record StageStats(String name, int group, int parallelism, long processed, long filtered, long failed,
+                         long busyNanos, double utilization, int buffered) {
+
+    @Override
+    public String toString() {
+        return String.format("%-12s grupo=%d hilos=%d procesados=%d descartados=%d errores=%d en buffer=%d utilizacion=%.1f%%",
+                name, group, parallelism, processed, filtered, failed, buffered, utilization * 100);
+    }
+}
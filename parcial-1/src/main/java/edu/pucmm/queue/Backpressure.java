@@ -0,0 +1,296 @@
+package edu.pucmm.queue;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Punto de entrada de los productores a una cola acotada, con una {@link OverflowPolicy} para cuando la cola
+ * está llena. Varios productores pueden compartir la misma instancia.
+ * <p>
+ * Mientras la cola tenga espacio todas las políticas se comportan igual que un offer. Cada elemento
+ * descartado (el nuevo o el más antiguo desplazado) se entrega a {@code onDrop}, así quien espera una
+ * cantidad fija de elementos puede descontarlo. Con SPILL un hilo de fondo reinyecta el archivo en la
+ * cola a medida que se libera espacio; mientras el archivo tenga elementos, los nuevos también van al
+ * archivo para conservar el orden. Mientras el archivo está vacío publicar no toma locks; cuando tiene
+ * elementos, los productores escriben en él bajo el mismo monitor que usa el hilo de fondo, y ese tiempo
+ * cuenta como espera en {@link #getMaxWait} y {@link #getTotalWait}.
+ *
+ * @author me@fredpena.dev
+ * @created 18/10/2026  - 20:15
+ */
+public class Backpressure<E> {
+
+    private static final long REPLAY_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final BlockingQueue<E> queue;
+    private final OverflowPolicy policy;
+    private final long timeoutNanos;
+    private final int sampleEvery;
+    private final Consumer<? super E> onDrop;
+
+    private final SpillFile<E> spill; // Solo con SPILL
+    private final Thread replayer;
+    private volatile boolean finished;
+
+    private final LongAdder published = new LongAdder(); // Entraron a la cola directamente
+    private final LongAdder blocked = new LongAdder(); // Encontraron la cola llena y esperaron
+    private final LongAdder timedOut = new LongAdder();
+    private final LongAdder droppedNewest = new LongAdder();
+    private final LongAdder droppedOldest = new LongAdder();
+    private final LongAdder sampledOut = new LongAdder();
+    private final LongAdder spilled = new LongAdder();
+    private final LongAdder replayed = new LongAdder();
+    private final AtomicLong overflows = new AtomicLong(); // Elementos que encontraron la cola llena (SAMPLE)
+    private final LongAdder waitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    /**
+     * @param timeout     espera máxima con TIMEOUT
+     * @param sampleEvery con SAMPLE, uno de cada {@code sampleEvery} elementos que desbordan entra a la cola
+     * @param codec       formato del archivo con SPILL; puede ser null con las demás políticas
+     */
+    public Backpressure(BlockingQueue<E> queue, OverflowPolicy policy, long timeout, TimeUnit unit,
+                        int sampleEvery, SpillCodec<E> codec, Consumer<? super E> onDrop) {
+        if (sampleEvery < 1) {
+            throw new IllegalArgumentException("sampleEvery debe ser mayor que 0.");
+        }
+        this.queue = queue;
+        this.policy = policy;
+        this.timeoutNanos = unit.toNanos(timeout);
+        this.sampleEvery = sampleEvery;
+        this.onDrop = onDrop;
+        if (policy == OverflowPolicy.SPILL) {
+            if (codec == null) {
+                throw new IllegalArgumentException("La política SPILL requiere un SpillCodec.");
+            }
+            try {
+                this.spill = new SpillFile<>(Files.createTempFile("producer-consumer-spill", ".bin"), codec);
+            } catch (IOException e) {
+                throw new UncheckedIOException("No se pudo crear el archivo de desbordamiento", e);
+            }
+            this.replayer = new Thread(this::replayLoop, "spill-replay");
+            this.replayer.setDaemon(true);
+            this.replayer.start();
+        } else {
+            this.spill = null;
+            this.replayer = null;
+        }
+    }
+
+    public OverflowPolicy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * Publica un elemento según la política.
+     *
+     * @return true si el elemento entró a la cola (o al archivo con SPILL), false si se descartó
+     */
+    public boolean publish(E item) throws InterruptedException {
+        if (policy == OverflowPolicy.SPILL) {
+            return spill(item);
+        }
+        if (queue.offer(item)) {
+            published.increment();
+            return true;
+        }
+        long start = System.nanoTime();
+        try {
+            return overflow(item);
+        } finally {
+            long waited = System.nanoTime() - start;
+            waitNanos.add(waited);
+            maxWaitNanos.accumulateAndGet(waited, Math::max);
+        }
+    }
+
+    /**
+     * Con SPILL espera a que el archivo se reinyecte por completo y lo borra. Llamarlo cuando todos los
+     * productores terminaron; con las demás políticas no hace nada.
+     */
+    public void finish() throws InterruptedException {
+        if (spill == null || finished) {
+            return;
+        }
+        while (!spill.isEmpty()) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            LockSupport.parkNanos(REPLAY_PARK_NANOS);
+        }
+        finished = true;
+        LockSupport.unpark(replayer);
+        replayer.join();
+        try {
+            spill.delete();
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo borrar el archivo de desbordamiento", e);
+        }
+    }
+
+    private boolean overflow(E item) throws InterruptedException {
+        switch (policy) {
+            case BLOCK -> {
+                blocked.increment();
+                queue.put(item);
+                published.increment();
+                return true;
+            }
+            case TIMEOUT -> {
+                blocked.increment();
+                if (queue.offer(item, timeoutNanos, TimeUnit.NANOSECONDS)) {
+                    published.increment();
+                    return true;
+                }
+                timedOut.increment();
+                onDrop.accept(item);
+                return false;
+            }
+            case DROP_NEWEST -> {
+                droppedNewest.increment();
+                onDrop.accept(item);
+                return false;
+            }
+            case DROP_OLDEST -> {
+                evictAndOffer(item);
+                return true;
+            }
+            case SAMPLE -> {
+                if (overflows.getAndIncrement() % sampleEvery == 0) {
+                    evictAndOffer(item);
+                    return true;
+                }
+                sampledOut.increment();
+                onDrop.accept(item);
+                return false;
+            }
+            default -> throw new IllegalStateException("Política no soportada: " + policy);
+        }
+    }
+
+    // Desplaza elementos antiguos hasta que el nuevo entra; un consumidor puede liberar espacio antes
+    private void evictAndOffer(E item) {
+        while (!queue.offer(item)) {
+            E oldest = queue.poll();
+            if (oldest != null) {
+                droppedOldest.increment();
+                onDrop.accept(oldest);
+            }
+        }
+        published.increment();
+    }
+
+    // Con el archivo vacío y espacio en la cola no se toma ningún lock. Si no, la decisión cola/archivo va bajo
+    // el monitor del archivo, el mismo de la reinyección: ningún elemento adelanta a uno que ya está en el archivo.
+    // Un offer que compite con un desbordamiento en curso es concurrente con él, así que cualquier orden vale
+    private boolean spill(E item) {
+        if (spill.isEmpty() && queue.offer(item)) {
+            published.increment();
+            return true;
+        }
+        long start = System.nanoTime();
+        boolean direct;
+        try {
+            direct = spill.offerOrAppend(item, queue);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo escribir en el archivo de desbordamiento", e);
+        } finally {
+            long waited = System.nanoTime() - start;
+            waitNanos.add(waited);
+            maxWaitNanos.accumulateAndGet(waited, Math::max);
+        }
+        if (direct) {
+            published.increment();
+        } else {
+            spilled.increment();
+        }
+        return true;
+    }
+
+    private void replayLoop() {
+        while (!finished) {
+            try {
+                int count = spill.replayInto(queue);
+                if (count > 0) {
+                    replayed.add(count);
+                } else {
+                    LockSupport.parkNanos(REPLAY_PARK_NANOS); // Cola llena o archivo vacío
+                }
+            } catch (IOException e) {
+                System.err.println("Error al reinyectar el archivo de desbordamiento: " + e.getMessage());
+                return;
+            }
+        }
+    }
+
+    public long getPublished() {
+        return published.sum();
+    }
+
+    public long getBlocked() {
+        return blocked.sum();
+    }
+
+    public long getTimedOut() {
+        return timedOut.sum();
+    }
+
+    public long getDroppedNewest() {
+        return droppedNewest.sum();
+    }
+
+    public long getDroppedOldest() {
+        return droppedOldest.sum();
+    }
+
+    public long getSampledOut() {
+        return sampledOut.sum();
+    }
+
+    public long getSpilled() {
+        return spilled.sum();
+    }
+
+    public long getReplayed() {
+        return replayed.sum();
+    }
+
+    /**
+     * @return elementos que todavía esperan en el archivo de desbordamiento
+     */
+    public long getSpillPending() {
+        return spill == null ? 0 : spill.pending();
+    }
+
+    /**
+     * @return tiempo máximo que un productor pasó dentro de publish con la cola llena
+     */
+    public long getMaxWait(TimeUnit unit) {
+        return unit.convert(maxWaitNanos.get(), TimeUnit.NANOSECONDS);
+    }
+
+    public long getTotalWait(TimeUnit unit) {
+        return unit.convert(waitNanos.sum(), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public String toString() {
+        return "Backpressure[policy=" + policy
+                + ", publicados=" + getPublished()
+                + ", esperas=" + getBlocked()
+                + ", vencidos=" + getTimedOut()
+                + ", descartados nuevos=" + getDroppedNewest()
+                + ", descartados antiguos=" + getDroppedOldest()
+                + ", fuera de muestra=" + getSampledOut()
+                + ", al archivo=" + getSpilled()
+                + ", reinyectados=" + getReplayed()
+                + ", espera máxima=" + getMaxWait(TimeUnit.MICROSECONDS) + "µs]";
+    }
+}
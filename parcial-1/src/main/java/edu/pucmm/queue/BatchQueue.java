@@ -0,0 +1,25 @@
+package edu.pucmm.queue;
+
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Cola que puede publicar varios elementos con una sola operación de sincronización.
+ * La extracción por lotes usa {@link BlockingQueue#drainTo(java.util.Collection, int)}.
+ *
+ * @author me@fredpena.dev
+ * @created 18/10/2026  - 16:30
+ */
+public interface BatchQueue<E> extends BlockingQueue<E> {
+
+    /**
+     * Publica el mayor prefijo posible de items[from, to) sin bloquear.
+     *
+     * @return cantidad de elementos publicados (0 si la cola está llena)
+     */
+    int offerBatch(E[] items, int from, int to);
+
+    /**
+     * Publica items[from, to) completo, esperando espacio cuando haga falta.
+     */
+    void putBatch(E[] items, int from, int to) throws InterruptedException;
+}
@@ -0,0 +1,100 @@
+package edu.pucmm.queue;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Acumula elementos de un productor y los publica en lotes.
+ * <p>
+ * El lote se publica cuando se llena o cuando su elemento más antiguo supera la latencia máxima, así un
+ * productor lento nunca retiene elementos indefinidamente. Con una {@link BatchQueue} el lote completo se
+ * publica con una sola reserva; con cualquier otra {@link BlockingQueue} se publica elemento por elemento.
+ * No es thread-safe: cada productor usa su propio Batcher.
+ *
+ * @author me@fredpena.dev
+ * @created 18/10/2026  - 16:30
+ */
+public class Batcher<E> {
+
+    private final BlockingQueue<E> queue;
+    private final E[] buffer;
+    private final long maxLatencyNanos;
+    private int size;
+    private long oldestNanos;
+
+    @SuppressWarnings("unchecked")
+    public Batcher(BlockingQueue<E> queue, int batchSize, long maxLatency, TimeUnit unit) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("El tamaño de lote debe ser mayor que 0.");
+        }
+        this.queue = queue;
+        this.buffer = (E[]) new Object[batchSize];
+        this.maxLatencyNanos = unit.toNanos(maxLatency);
+    }
+
+    public void add(E item) throws InterruptedException {
+        if (size == 0) {
+            oldestNanos = System.nanoTime();
+        }
+        buffer[size++] = item;
+        if (size == buffer.length) {
+            flush();
+        } else {
+            flushIfStale();
+        }
+    }
+
+    /**
+     * Publica el lote pendiente solo si su elemento más antiguo ya superó la latencia máxima.
+     * Pensado para llamarse cuando el productor va a quedar ocioso.
+     */
+    public void flushIfStale() throws InterruptedException {
+        if (size > 0 && System.nanoTime() - oldestNanos >= maxLatencyNanos) {
+            flush();
+        }
+    }
+
+    public void flush() throws InterruptedException {
+        if (size == 0) {
+            return;
+        }
+        if (queue instanceof BatchQueue<E> batchQueue) {
+            batchQueue.putBatch(buffer, 0, size);
+        } else {
+            for (int i = 0; i < size; i++) {
+                queue.put(buffer[i]);
+            }
+        }
+        Arrays.fill(buffer, 0, size, null);
+        size = 0;
+    }
+
+    /**
+     * Espera al menos un elemento y luego extrae, sin bloquear, hasta completar {@code maxElements}.
+     * Un consumidor paga una sola espera por lote en lugar de una por elemento.
+     *
+     * @return cantidad de elementos agregados a {@code out}
+     */
+    public static <E> int takeBatch(BlockingQueue<E> queue, Collection<? super E> out, int maxElements)
+            throws InterruptedException {
+        out.add(queue.take());
+        return 1 + queue.drainTo(out, maxElements - 1);
+    }
+
+    /**
+     * Igual que {@link #takeBatch}, pero espera el primer elemento como máximo {@code timeout}.
+     *
+     * @return cantidad de elementos agregados a {@code out}; 0 si venció la espera
+     */
+    public static <E> int pollBatch(BlockingQueue<E> queue, Collection<? super E> out, int maxElements,
+                                    long timeout, TimeUnit unit) throws InterruptedException {
+        E first = queue.poll(timeout, unit);
+        if (first == null) {
+            return 0;
+        }
+        out.add(first);
+        return 1 + queue.drainTo(out, maxElements - 1);
+    }
+}
@@ -0,0 +1,170 @@
+package edu.pucmm.queue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Pool de consumidores que crece y se reduce según la carga de la cola.
+ * <p>
+ * Un monitor revisa la profundidad de la cola periódicamente y agrega un consumidor cuando supera la marca
+ * de agua alta (en una cola FIFO la espera de cada elemento crece con la profundidad). Un consumidor que
+ * pasa {@code idleTimeout} sin recibir elementos se retira mientras queden más de {@code minConsumers}.
+ * <p>
+ * No usa elementos centinela: cada productor llama a {@link #producerDone()} al terminar, y cuando ya no
+ * quedan productores los consumidores vacían la cola y terminan solos.
+ *
+ * @author me@fredpena.dev
+ * @created 18/10/2026  - 18:45
+ */
+public class ElasticConsumerPool<E> {
+
+    private static final long POLL_MS = 10; // Cada cuánto revisa un consumidor ocioso si debe terminar
+    private static final long MONITOR_MS = 5;
+
+    private final BlockingQueue<E> queue;
+    private final Consumer<E> handler;
+    private final int minConsumers;
+    private final int maxConsumers;
+    private final int highWaterMark;
+    private final int batchSize;
+    private final long idleTimeoutNanos;
+
+    private final AtomicInteger remainingProducers;
+    private volatile boolean producersFinished;
+    private final AtomicInteger activeConsumers = new AtomicInteger();
+    private final AtomicInteger peakConsumers = new AtomicInteger();
+    private final LongAdder processed = new LongAdder();
+    private final CountDownLatch terminated = new CountDownLatch(1);
+
+    private final ExecutorService consumers = Executors.newCachedThreadPool();
+    private final ScheduledExecutorService monitor = Executors.newSingleThreadScheduledExecutor();
+
+    public ElasticConsumerPool(BlockingQueue<E> queue, Consumer<E> handler, int producerCount,
+                               int minConsumers, int maxConsumers, int highWaterMark, int batchSize,
+                               long idleTimeout, TimeUnit unit) {
+        if (minConsumers < 1 || maxConsumers < minConsumers) {
+            throw new IllegalArgumentException("Se requiere 1 <= minConsumers <= maxConsumers.");
+        }
+        this.queue = queue;
+        this.handler = handler;
+        this.remainingProducers = new AtomicInteger(producerCount);
+        this.producersFinished = producerCount == 0;
+        this.minConsumers = minConsumers;
+        this.maxConsumers = maxConsumers;
+        this.highWaterMark = highWaterMark;
+        this.batchSize = batchSize;
+        this.idleTimeoutNanos = unit.toNanos(idleTimeout);
+    }
+
+    public void start() {
+        for (int i = 0; i < minConsumers; i++) {
+            spawn();
+        }
+        monitor.scheduleWithFixedDelay(() -> {
+            if (!producersFinished && queue.size() >= highWaterMark) {
+                spawn();
+            }
+        }, MONITOR_MS, MONITOR_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Lo llama cada productor después de publicar su último elemento.
+     */
+    public void producerDone() {
+        if (remainingProducers.decrementAndGet() == 0) {
+            producersFinished = true;
+        }
+    }
+
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return terminated.await(timeout, unit);
+    }
+
+    public void shutdownNow() {
+        monitor.shutdownNow();
+        consumers.shutdownNow();
+    }
+
+    public int getActiveConsumers() {
+        return activeConsumers.get();
+    }
+
+    public int getPeakConsumers() {
+        return peakConsumers.get();
+    }
+
+    public long getProcessed() {
+        return processed.sum();
+    }
+
+    private void spawn() {
+        int active;
+        do {
+            active = activeConsumers.get();
+            if (active >= maxConsumers) {
+                return;
+            }
+        } while (!activeConsumers.compareAndSet(active, active + 1));
+        peakConsumers.accumulateAndGet(active + 1, Math::max);
+        try {
+            consumers.execute(this::consume);
+        } catch (RejectedExecutionException e) {
+            activeConsumers.decrementAndGet(); // El pool ya terminó
+        }
+    }
+
+    // Se retira solo si quedan más consumidores que el mínimo
+    private boolean tryRetire() {
+        int active;
+        do {
+            active = activeConsumers.get();
+            if (active <= minConsumers) {
+                return false;
+            }
+        } while (!activeConsumers.compareAndSet(active, active - 1));
+        return true;
+    }
+
+    private void consume() {
+        List<E> batch = new ArrayList<>(batchSize);
+        long idleSince = System.nanoTime();
+        try {
+            while (true) {
+                E first = queue.poll(POLL_MS, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                    for (E item : batch) {
+                        handler.accept(item);
+                    }
+                    processed.add(batch.size());
+                    batch.clear();
+                    idleSince = System.nanoTime();
+                } else if (producersFinished && queue.isEmpty()) {
+                    // La cola ya no va a recibir más elementos
+                    if (activeConsumers.decrementAndGet() == 0) {
+                        monitor.shutdown();
+                        consumers.shutdown();
+                        terminated.countDown();
+                    }
+                    return;
+                } else if (System.nanoTime() - idleSince >= idleTimeoutNanos && tryRetire()) {
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // Restaurar el estado de interrupción
+            activeConsumers.decrementAndGet();
+        }
+    }
+}
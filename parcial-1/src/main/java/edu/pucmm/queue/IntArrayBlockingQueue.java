@@ -0,0 +1,179 @@
+package edu.pucmm.queue;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Versión primitiva de {@link java.util.concurrent.ArrayBlockingQueue}: un int[] circular protegido por un
+ * ReentrantLock, con esperas reales (los hilos se duermen en vez de girar). Los lotes copian todos los
+ * valores que caben con una sola adquisición del lock.
+ *
+ * @author me@fredpena.dev
+ * @created 18/10/2026  - 17:40
+ */
+public class IntArrayBlockingQueue implements IntQueue {
+
+    private final int[] items;
+    private int takeIndex;
+    private int putIndex;
+    private int count;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+
+    public IntArrayBlockingQueue(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("La capacidad debe ser mayor que 0.");
+        }
+        this.items = new int[capacity];
+    }
+
+    @Override
+    public boolean offer(int value) {
+        lock.lock();
+        try {
+            if (count == items.length) {
+                return false;
+            }
+            enqueue(value);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int drainTo(int[] out, int offset, int maxElements) {
+        lock.lock();
+        try {
+            return dequeue(out, offset, maxElements);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void put(int value) throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (count == items.length) {
+                notFull.await();
+            }
+            enqueue(value);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (count == 0) {
+                notEmpty.await();
+            }
+            int value = items[takeIndex];
+            takeIndex = (takeIndex + 1) % items.length;
+            count--;
+            notFull.signal();
+            return value;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void putBatch(int[] values, int from, int to) throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (from < to) {
+                while (count == items.length) {
+                    notFull.await();
+                }
+                int n = Math.min(to - from, items.length - count);
+                for (int i = 0; i < n; i++) {
+                    items[putIndex] = values[from + i];
+                    putIndex = (putIndex + 1) % items.length;
+                }
+                count += n;
+                from += n;
+                if (n == 1) {
+                    notEmpty.signal();
+                } else {
+                    notEmpty.signalAll();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int takeBatch(int[] out, int maxElements) throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (count == 0) {
+                notEmpty.await();
+            }
+            return dequeue(out, 0, maxElements);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int pollBatch(int[] out, int maxElements, long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (count == 0) {
+                if (nanos <= 0) {
+                    return 0;
+                }
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            return dequeue(out, 0, maxElements);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.lock();
+        try {
+            return count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int capacity() {
+        return items.length;
+    }
+
+    private void enqueue(int value) {
+        items[putIndex] = value;
+        putIndex = (putIndex + 1) % items.length;
+        count++;
+        notEmpty.signal();
+    }
+
+    private int dequeue(int[] out, int offset, int maxElements) {
+        int n = Math.min(count, maxElements);
+        for (int i = 0; i < n; i++) {
+            out[offset + i] = items[takeIndex];
+            takeIndex = (takeIndex + 1) % items.length;
+        }
+        count -= n;
+        if (n == 1) {
+            notFull.signal();
+        } else if (n > 1) {
+            notFull.signalAll();
+        }
+        return n;
+    }
+}
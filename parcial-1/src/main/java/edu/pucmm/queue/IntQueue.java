@@ -0,0 +1,53 @@
+package edu.pucmm.queue;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cola acotada de int primitivos: transfiere valores sin crear un Integer por elemento.
+ * Las operaciones offer y drainTo nunca bloquean; put, take, putBatch y takeBatch esperan
+ * espacio o elementos.
+ *
+ * @author me@fredpena.dev
+ * @created 18/10/2026  - 17:40
+ */
+public interface IntQueue {
+
+    /**
+     * @return false si la cola está llena
+     */
+    boolean offer(int value);
+
+    /**
+     * Extrae sin bloquear hasta {@code maxElements} valores y los copia en out[offset...].
+     *
+     * @return cantidad extraída (0 si la cola está vacía)
+     */
+    int drainTo(int[] out, int offset, int maxElements);
+
+    void put(int value) throws InterruptedException;
+
+    int take() throws InterruptedException;
+
+    /**
+     * Publica values[from, to) completo, esperando espacio cuando haga falta.
+     */
+    void putBatch(int[] values, int from, int to) throws InterruptedException;
+
+    /**
+     * Espera al menos un valor y extrae hasta {@code maxElements} en out[0...].
+     *
+     * @return cantidad extraída (al menos 1)
+     */
+    int takeBatch(int[] out, int maxElements) throws InterruptedException;
+
+    /**
+     * Como {@link #takeBatch}, pero espera a lo sumo {@code timeout}.
+     *
+     * @return cantidad extraída (0 si venció la espera sin valores)
+     */
+    int pollBatch(int[] out, int maxElements, long timeout, TimeUnit unit) throws InterruptedException;
+
+    int size();
+
+    int capacity();
+}
@@ -0,0 +1,211 @@
+package edu.pucmm.queue;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Versión primitiva de {@link MpmcRingBuffer}: mismo anillo sin locks con casillas numeradas, pero los
+ * valores viven en un int[] contiguo, sin Integer ni referencias que seguir.
+ *
+ * @author me@fredpena.dev
+ * @created 18/10/2026  - 17:40
+ */
+public class IntRingBuffer implements IntQueue {
+
+    // poll devuelve el valor como long sin signo (0..2^32-1), así este valor nunca es un int válido
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private final int capacity;
+    private final int mask;
+    private final int[] buffer;
+    private final AtomicLongArray sequences;
+    private final PaddedSequence tail = new PaddedSequence(0);
+    private final PaddedSequence head = new PaddedSequence(0);
+    private final WaitStrategy waitStrategy;
+
+    public IntRingBuffer(int capacity, WaitStrategy waitStrategy) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("La capacidad debe ser mayor que 0.");
+        }
+        this.capacity = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = this.capacity - 1;
+        this.buffer = new int[this.capacity];
+        this.sequences = new AtomicLongArray(this.capacity);
+        for (int i = 0; i < this.capacity; i++) {
+            sequences.set(i, i);
+        }
+        this.waitStrategy = waitStrategy;
+    }
+
+    @Override
+    public boolean offer(int value) {
+        return offerBatch(value, null, 0, 1) == 1;
+    }
+
+    @Override
+    public int drainTo(int[] out, int offset, int maxElements) {
+        long pos = head.get();
+        while (true) {
+            int ready = 0;
+            while (ready < maxElements) {
+                long slot = pos + ready;
+                if (sequences.getAcquire((int) (slot & mask)) != slot + 1) {
+                    break;
+                }
+                ready++;
+            }
+            if (ready == 0) {
+                if (maxElements <= 0 || sequences.getAcquire((int) (pos & mask)) < pos + 1) {
+                    return 0; // Cola vacía
+                }
+                pos = head.get();
+                continue;
+            }
+            if (head.compareAndSet(pos, pos + ready)) {
+                for (int i = 0; i < ready; i++) {
+                    long slot = pos + i;
+                    int index = (int) (slot & mask);
+                    out[offset + i] = buffer[index];
+                    sequences.setRelease(index, slot + capacity);
+                }
+                return ready;
+            }
+            pos = head.get();
+        }
+    }
+
+    @Override
+    public void put(int value) throws InterruptedException {
+        int attempt = 0;
+        while (!offer(value)) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            waitStrategy.idle(attempt++);
+        }
+    }
+
+    @Override
+    public int take() throws InterruptedException {
+        int attempt = 0;
+        long value;
+        while ((value = poll()) == EMPTY) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            waitStrategy.idle(attempt++);
+        }
+        return (int) value;
+    }
+
+    @Override
+    public void putBatch(int[] values, int from, int to) throws InterruptedException {
+        int attempt = 0;
+        while (from < to) {
+            int published = offerBatch(0, values, from, to);
+            if (published > 0) {
+                from += published;
+                attempt = 0;
+                continue;
+            }
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            waitStrategy.idle(attempt++);
+        }
+    }
+
+    @Override
+    public int takeBatch(int[] out, int maxElements) throws InterruptedException {
+        int attempt = 0;
+        int taken;
+        while ((taken = drainTo(out, 0, maxElements)) == 0) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            waitStrategy.idle(attempt++);
+        }
+        return taken;
+    }
+
+    @Override
+    public int pollBatch(int[] out, int maxElements, long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        int attempt = 0;
+        int taken;
+        while ((taken = drainTo(out, 0, maxElements)) == 0) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            if (System.nanoTime() - deadline >= 0) {
+                return 0;
+            }
+            waitStrategy.idle(attempt++);
+        }
+        return taken;
+    }
+
+    @Override
+    public int size() {
+        long consumed = head.get();
+        long produced = tail.get();
+        return (int) Math.max(0, Math.min(capacity, produced - consumed));
+    }
+
+    @Override
+    public int capacity() {
+        return capacity;
+    }
+
+    private long poll() {
+        long pos = head.get();
+        while (true) {
+            int index = (int) (pos & mask);
+            long diff = sequences.getAcquire(index) - (pos + 1);
+            if (diff == 0) {
+                if (head.compareAndSet(pos, pos + 1)) {
+                    int value = buffer[index];
+                    sequences.setRelease(index, pos + capacity);
+                    return value & 0xFFFFFFFFL;
+                }
+                pos = head.get();
+            } else if (diff < 0) {
+                return EMPTY;
+            } else {
+                pos = head.get();
+            }
+        }
+    }
+
+    // Publica 'single' si values es null, o el mayor prefijo posible de values[from, to)
+    private int offerBatch(int single, int[] values, int from, int to) {
+        long pos = tail.get();
+        while (true) {
+            int free = 0;
+            while (free < to - from) {
+                long slot = pos + free;
+                if (sequences.getAcquire((int) (slot & mask)) != slot) {
+                    break;
+                }
+                free++;
+            }
+            if (free == 0) {
+                if (sequences.getAcquire((int) (pos & mask)) < pos) {
+                    return 0; // Cola llena
+                }
+                pos = tail.get();
+                continue;
+            }
+            if (tail.compareAndSet(pos, pos + free)) {
+                for (int i = 0; i < free; i++) {
+                    long slot = pos + i;
+                    int index = (int) (slot & mask);
+                    buffer[index] = values == null ? single : values[from + i];
+                    sequences.setRelease(index, slot + 1);
+                }
+                return free;
+            }
+            pos = tail.get();
+        }
+    }
+}
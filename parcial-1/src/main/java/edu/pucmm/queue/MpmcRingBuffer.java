@@ -0,0 +1,420 @@
+package edu.pucmm.queue;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Cola acotada sin locks para múltiples productores y múltiples consumidores (anillo de Vyukov).
+ * <p>
+ * Cada casilla tiene un número de secuencia que indica si está libre para la vuelta actual del productor
+ * o lista para el consumidor. Productores y consumidores solo compiten con un compareAndSet sobre su
+ * propio contador (cola o cabeza), y cada contador vive en su propia línea de caché.
+ * <p>
+ * La capacidad se redondea a la siguiente potencia de 2. Las operaciones bloqueantes esperan según
+ * el {@link WaitStrategy} configurado. Los lotes (offerBatch, putBatch, drainTo) reservan varias casillas
+ * consecutivas con un solo compareAndSet.
+ * <p>
+ * {@link #iterator()} recorre una foto de [cabeza, cola) débilmente consistente, como la de
+ * {@link java.util.concurrent.ArrayBlockingQueue}: no falla por cambios concurrentes y puede no ver lo que
+ * se agregó o retiró después de crearlo. {@link #remove(Object)} no mueve elementos: cambia el de la casilla
+ * por una marca con compareAndSet, y los consumidores saltan las casillas marcadas. Por eso {@link #size()}
+ * cuenta las casillas marcadas hasta que un consumidor pasa por ellas.
+ *
+ * @author me@fredpena.dev
+ * @created 18/10/2026  - 15:10
+ */
+public class MpmcRingBuffer<E> extends AbstractQueue<E> implements BatchQueue<E> {
+
+    private static final VarHandle SLOT = MethodHandles.arrayElementVarHandle(Object[].class);
+    private static final Object REMOVED = new Object(); // Elemento retirado con remove(Object)
+
+    private final int capacity;
+    private final int mask;
+    private final Object[] buffer;
+    private final AtomicLongArray sequences;
+    private final PaddedSequence tail = new PaddedSequence(0); // Próxima posición a escribir
+    private final PaddedSequence head = new PaddedSequence(0); // Próxima posición a leer
+    private final WaitStrategy waitStrategy;
+
+    public MpmcRingBuffer(int capacity, WaitStrategy waitStrategy) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("La capacidad debe ser mayor que 0.");
+        }
+        this.capacity = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = this.capacity - 1;
+        this.buffer = new Object[this.capacity];
+        this.sequences = new AtomicLongArray(this.capacity);
+        for (int i = 0; i < this.capacity; i++) {
+            sequences.set(i, i);
+        }
+        this.waitStrategy = waitStrategy;
+    }
+
+    @Override
+    public boolean offer(E e) {
+        Objects.requireNonNull(e);
+        long pos = tail.get();
+        while (true) {
+            int index = (int) (pos & mask);
+            long diff = sequences.getAcquire(index) - pos;
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    buffer[index] = e;
+                    sequences.setRelease(index, pos + 1); // Publica el elemento para los consumidores
+                    return true;
+                }
+                pos = tail.get();
+            } else if (diff < 0) {
+                return false; // La casilla todavía tiene un elemento de la vuelta anterior: cola llena
+            } else {
+                pos = tail.get(); // Otro productor ganó la casilla
+            }
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E poll() {
+        long pos = head.get();
+        while (true) {
+            int index = (int) (pos & mask);
+            long diff = sequences.getAcquire(index) - (pos + 1);
+            if (diff == 0) {
+                if (head.compareAndSet(pos, pos + 1)) {
+                    // getAndSet y no una lectura: compite con el compareAndSet de remove(Object)
+                    Object e = SLOT.getAndSet(buffer, index, (Object) null);
+                    sequences.setRelease(index, pos + capacity); // Libera la casilla para la siguiente vuelta
+                    if (e != REMOVED) {
+                        return (E) e;
+                    }
+                }
+                pos = head.get();
+            } else if (diff < 0) {
+                return null; // Cola vacía
+            } else {
+                pos = head.get();
+            }
+        }
+    }
+
+    @Override
+    public int offerBatch(E[] items, int from, int to) {
+        for (int i = from; i < to; i++) {
+            Objects.requireNonNull(items[i]); // Se valida antes de reservar: una casilla reservada debe publicarse
+        }
+        long pos = tail.get();
+        while (true) {
+            // Casillas consecutivas libres a partir de pos; ningún otro productor puede tomarlas sin mover la cola
+            int free = 0;
+            while (free < to - from) {
+                long slot = pos + free;
+                if (sequences.getAcquire((int) (slot & mask)) != slot) {
+                    break;
+                }
+                free++;
+            }
+            if (free == 0) {
+                if (sequences.getAcquire((int) (pos & mask)) < pos) {
+                    return 0; // Cola llena
+                }
+                pos = tail.get();
+                continue;
+            }
+            if (tail.compareAndSet(pos, pos + free)) {
+                for (int i = 0; i < free; i++) {
+                    long slot = pos + i;
+                    int index = (int) (slot & mask);
+                    buffer[index] = items[from + i];
+                    sequences.setRelease(index, slot + 1);
+                }
+                return free;
+            }
+            pos = tail.get();
+        }
+    }
+
+    @Override
+    public void putBatch(E[] items, int from, int to) throws InterruptedException {
+        int attempt = 0;
+        while (from < to) {
+            int published = offerBatch(items, from, to);
+            if (published > 0) {
+                from += published;
+                attempt = 0;
+                continue;
+            }
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            waitStrategy.idle(attempt++);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E peek() {
+        long pos = head.get();
+        while (true) {
+            int index = (int) (pos & mask);
+            if (sequences.getAcquire(index) != pos + 1) {
+                return null;
+            }
+            Object e = SLOT.getAcquire(buffer, index); // Aproximado: otro consumidor puede retirarlo en este instante
+            if (e != REMOVED && e != null) {
+                return (E) e;
+            }
+            pos++;
+        }
+    }
+
+    @Override
+    public void put(E e) throws InterruptedException {
+        int attempt = 0;
+        while (!offer(e)) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            waitStrategy.idle(attempt++);
+        }
+    }
+
+    @Override
+    public boolean offer(E e, long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        int attempt = 0;
+        while (!offer(e)) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            if (System.nanoTime() - deadline >= 0) {
+                return false;
+            }
+            waitStrategy.idle(attempt++);
+        }
+        return true;
+    }
+
+    @Override
+    public E take() throws InterruptedException {
+        int attempt = 0;
+        E e;
+        while ((e = poll()) == null) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            waitStrategy.idle(attempt++);
+        }
+        return e;
+    }
+
+    @Override
+    public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        int attempt = 0;
+        E e;
+        while ((e = poll()) == null) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            if (System.nanoTime() - deadline >= 0) {
+                return null;
+            }
+            waitStrategy.idle(attempt++);
+        }
+        return e;
+    }
+
+    @Override
+    public int size() {
+        long consumed = head.get();
+        long produced = tail.get();
+        return (int) Math.max(0, Math.min(capacity, produced - consumed));
+    }
+
+    @Override
+    public int remainingCapacity() {
+        return capacity - size();
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> c) {
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public int drainTo(Collection<? super E> c, int maxElements) {
+        if (c == this) {
+            throw new IllegalArgumentException();
+        }
+        long pos = head.get();
+        while (true) {
+            // Casillas consecutivas listas a partir de pos; ningún otro consumidor puede tomarlas sin mover la cabeza
+            int ready = 0;
+            while (ready < maxElements) {
+                long slot = pos + ready;
+                if (sequences.getAcquire((int) (slot & mask)) != slot + 1) {
+                    break;
+                }
+                ready++;
+            }
+            if (ready == 0) {
+                if (maxElements <= 0 || sequences.getAcquire((int) (pos & mask)) < pos + 1) {
+                    return 0; // Cola vacía
+                }
+                pos = head.get();
+                continue;
+            }
+            if (head.compareAndSet(pos, pos + ready)) {
+                int drained = 0;
+                for (int i = 0; i < ready; i++) {
+                    long slot = pos + i;
+                    int index = (int) (slot & mask);
+                    Object e = SLOT.getAndSet(buffer, index, (Object) null);
+                    if (e != REMOVED) {
+                        try {
+                            c.add((E) e); // Antes de liberar la casilla: si falla, el elemento sigue en nuestras manos
+                        } catch (RuntimeException | Error failure) {
+                            restore(pos, i, ready, e, failure);
+                            throw failure;
+                        }
+                        drained++;
+                    }
+                    sequences.setRelease(index, slot + capacity);
+                }
+                return drained;
+            }
+            pos = head.get();
+        }
+    }
+
+    // c.add falló con el elemento de la casilla pos + failed: libera esa casilla y las siguientes ya reservadas
+    // y vuelve a encolar sus elementos (quedan detrás de los que llegaron mientras tanto)
+    @SuppressWarnings("unchecked")
+    private void restore(long pos, int failed, int ready, Object current, Throwable failure) {
+        List<Object> pending = new ArrayList<>(ready - failed);
+        pending.add(current);
+        for (int i = failed; i < ready; i++) {
+            long slot = pos + i;
+            int index = (int) (slot & mask);
+            if (i > failed) {
+                Object e = SLOT.getAndSet(buffer, index, (Object) null);
+                if (e != REMOVED) {
+                    pending.add(e);
+                }
+            }
+            sequences.setRelease(index, slot + capacity);
+        }
+        int lost = 0;
+        for (Object e : pending) {
+            if (!offer((E) e)) {
+                lost++; // Los productores ocuparon las casillas liberadas
+            }
+        }
+        if (lost > 0) {
+            failure.addSuppressed(new IllegalStateException(
+                    lost + " elementos no volvieron a caber en la cola después del error en drainTo."));
+        }
+    }
+
+    /**
+     * Retira una aparición de {@code o} marcando su casilla; los consumidores la saltan.
+     */
+    @Override
+    public boolean remove(Object o) {
+        if (o == null) {
+            return false;
+        }
+        long start = head.get();
+        long end = tail.get();
+        for (long pos = start; pos < end; pos++) {
+            int index = (int) (pos & mask);
+            if (sequences.getAcquire(index) != pos + 1) {
+                continue; // Ya se consumió o todavía no se publicó
+            }
+            Object e = SLOT.getAcquire(buffer, index);
+            if (e != REMOVED && e != null && o.equals(e) && SLOT.compareAndSet(buffer, index, e, REMOVED)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new Snapshot();
+    }
+
+    // Foto de los elementos publicados en [cabeza, cola) al crearlo; remove() retira el de su casilla con CAS
+    private final class Snapshot implements Iterator<E> {
+        private final List<Object> elements = new ArrayList<>();
+        private final List<Long> positions = new ArrayList<>();
+        private int next;
+        private int last = -1;
+
+        private Snapshot() {
+            long start = head.get();
+            long end = tail.get();
+            for (long pos = start; pos < end; pos++) {
+                int index = (int) (pos & mask);
+                if (sequences.getAcquire(index) != pos + 1) {
+                    continue;
+                }
+                Object e = SLOT.getAcquire(buffer, index);
+                VarHandle.acquireFence();
+                // La secuencia solo avanza: si sigue igual, nadie retiró el elemento entre las dos lecturas
+                if (e != null && e != REMOVED && sequences.getAcquire(index) == pos + 1) {
+                    elements.add(e);
+                    positions.add(pos);
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next < elements.size();
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public E next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            last = next++;
+            return (E) elements.get(last);
+        }
+
+        @Override
+        public void remove() {
+            if (last < 0) {
+                throw new IllegalStateException();
+            }
+            long pos = positions.get(last);
+            int index = (int) (pos & mask);
+            // Si ya se consumió, no hay nada que retirar
+            if (sequences.getAcquire(index) == pos + 1) {
+                SLOT.compareAndSet(buffer, index, elements.get(last), REMOVED);
+            }
+            last = -1;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "MpmcRingBuffer[capacity=" + capacity + ", size=" + size() + "]";
+    }
+}
@@ -0,0 +1,28 @@
+package edu.pucmm.queue;
+
+/**
+ * Qué hace un productor cuando la cola está llena (ver {@link Backpressure}).
+ * <ul>
+ *     <li>BLOCK: espera sin límite a que haya espacio (el comportamiento original de put).</li>
+ *     <li>TIMEOUT: espera hasta un tiempo máximo y luego descarta el elemento.</li>
+ *     <li>DROP_NEWEST: descarta el elemento nuevo sin esperar.</li>
+ *     <li>DROP_OLDEST: descarta el elemento más antiguo de la cola para hacer espacio.</li>
+ *     <li>SAMPLE: de cada N elementos que encuentran la cola llena, uno entra desplazando al más antiguo
+ *     y el resto se descarta.</li>
+ *     <li>SPILL: guarda el elemento en un archivo local y lo reinyecta cuando los consumidores se ponen al día.
+ *     Mientras el archivo tiene elementos el productor escribe en él, así que espera la escritura (con buffer)
+ *     y al hilo que reinyecta; no hay un tiempo máximo.</li>
+ * </ul>
+ * Salvo BLOCK y SPILL, ninguna política deja al productor esperando más que el tiempo máximo configurado.
+ *
+ * @author me@fredpena.dev
+ * @created 18/10/2026  - 20:15
+ */
+public enum OverflowPolicy {
+    BLOCK,
+    TIMEOUT,
+    DROP_NEWEST,
+    DROP_OLDEST,
+    SAMPLE,
+    SPILL
+}
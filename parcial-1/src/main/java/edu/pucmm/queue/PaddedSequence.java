@@ -0,0 +1,49 @@
+package edu.pucmm.queue;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Contador long con relleno a ambos lados para que no comparta línea de caché con otros campos
+ * (false sharing). El relleno va en clases padre e hija porque la JVM no reordena campos entre niveles
+ * de la jerarquía.
+ *
+ * @author me@fredpena.dev
+ * @created 18/10/2026  - 15:10
+ */
+final class PaddedSequence extends PaddedSequenceRight {
+
+    private static final VarHandle VALUE;
+
+    static {
+        try {
+            VALUE = MethodHandles.lookup().findVarHandle(PaddedSequenceValue.class, "value", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    PaddedSequence(long initial) {
+        value = initial;
+    }
+
+    long get() {
+        return value;
+    }
+
+    boolean compareAndSet(long expected, long newValue) {
+        return VALUE.compareAndSet(this, expected, newValue);
+    }
+}
+
+abstract class PaddedSequenceLeft {
+    long p01, p02, p03, p04, p05, p06, p07;
+}
+
+abstract class PaddedSequenceValue extends PaddedSequenceLeft {
+    volatile long value;
+}
+
+abstract class PaddedSequenceRight extends PaddedSequenceValue {
+    long p11, p12, p13, p14, p15, p16, p17;
+}
@@ -0,0 +1,165 @@
+package edu.pucmm.queue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Colas particionadas por clave: conserva el orden por clave con varios consumidores en paralelo.
+ * <p>
+ * Cada elemento va a la partición {@code hash(clave) mod P}, así todos los elementos de una clave quedan en
+ * la misma cola FIFO. Cada partición tiene un dueño entre los consumidores registrados y se reasignan por
+ * turnos cada vez que un consumidor entra ({@link #join()}) o sale ({@link #leave(int)}).
+ * <p>
+ * El orden no depende de la asignación: un consumidor solo saca y procesa elementos de una partición
+ * mientras tiene su lock. Si la partición cambia de dueño, el nuevo dueño no puede tomarla hasta que el
+ * anterior termine el elemento que estaba procesando.
+ *
+ * @author me@fredpena.dev
+ * @created 18/10/2026  - 21:20
+ */
+public class PartitionedQueue<E> {
+
+    private static final int NO_OWNER = -1;
+
+    private final List<BlockingQueue<E>> partitions = new ArrayList<>();
+    private final ReentrantLock[] leases;
+
+    private final TreeSet<Integer> members = new TreeSet<>(); // Protegido por synchronized (members)
+    private final AtomicInteger nextMemberId = new AtomicInteger();
+    private volatile int[] owners; // Dueño de cada partición; se reemplaza completo en cada rebalanceo
+    private volatile int rebalances;
+
+    public PartitionedQueue(int partitionCount, int capacityPerPartition, QueueType queueType,
+                            WaitStrategy waitStrategy) {
+        if (partitionCount < 1) {
+            throw new IllegalArgumentException("Se requiere al menos una partición.");
+        }
+        this.leases = new ReentrantLock[partitionCount];
+        for (int i = 0; i < partitionCount; i++) {
+            partitions.add(queueType.create(capacityPerPartition, waitStrategy));
+            leases[i] = new ReentrantLock();
+        }
+        int[] initial = new int[partitionCount];
+        Arrays.fill(initial, NO_OWNER);
+        this.owners = initial;
+    }
+
+    public int partitionOf(Object key) {
+        int h = key.hashCode();
+        return Math.floorMod(h ^ (h >>> 16), partitions.size());
+    }
+
+    /**
+     * Coloca el elemento en la partición de su clave, esperando si está llena.
+     */
+    public void put(Object key, E item) throws InterruptedException {
+        partitions.get(partitionOf(key)).put(item);
+    }
+
+    public boolean offer(Object key, E item) {
+        return partitions.get(partitionOf(key)).offer(item);
+    }
+
+    /**
+     * Registra un consumidor y reparte de nuevo las particiones.
+     *
+     * @return identificador del consumidor para {@link #drain} y {@link #leave}
+     */
+    public int join() {
+        int id = nextMemberId.getAndIncrement();
+        synchronized (members) {
+            members.add(id);
+            rebalance();
+        }
+        return id;
+    }
+
+    /**
+     * Retira un consumidor; sus particiones pasan a los demás. Sin consumidores, los elementos esperan.
+     */
+    public void leave(int member) {
+        synchronized (members) {
+            if (members.remove(member)) {
+                rebalance();
+            }
+        }
+    }
+
+    /**
+     * Procesa sin bloquear hasta {@code maxElements} elementos de cada partición que pertenece al consumidor.
+     * Una partición que todavía está procesando su dueño anterior se salta hasta la próxima llamada.
+     *
+     * @return cantidad de elementos procesados; 0 si no había nada disponible
+     */
+    public int drain(int member, Consumer<? super E> handler, int maxElements) {
+        int[] current = owners;
+        int processed = 0;
+        for (int p = 0; p < current.length; p++) {
+            if (current[p] != member || !leases[p].tryLock()) {
+                continue;
+            }
+            try {
+                BlockingQueue<E> queue = partitions.get(p);
+                E item;
+                for (int i = 0; i < maxElements && (item = queue.poll()) != null; i++) {
+                    handler.accept(item);
+                    processed++;
+                }
+            } finally {
+                leases[p].unlock();
+            }
+        }
+        return processed;
+    }
+
+    /**
+     * @return particiones asignadas actualmente al consumidor
+     */
+    public List<Integer> assignment(int member) {
+        int[] current = owners;
+        List<Integer> owned = new ArrayList<>();
+        for (int p = 0; p < current.length; p++) {
+            if (current[p] == member) {
+                owned.add(p);
+            }
+        }
+        return owned;
+    }
+
+    public int partitionCount() {
+        return partitions.size();
+    }
+
+    public int size() {
+        int size = 0;
+        for (BlockingQueue<E> queue : partitions) {
+            size += queue.size();
+        }
+        return size;
+    }
+
+    public int getRebalances() {
+        return rebalances;
+    }
+
+    // Se llama con el monitor de members
+    private void rebalance() {
+        int[] next = new int[partitions.size()];
+        if (members.isEmpty()) {
+            Arrays.fill(next, NO_OWNER);
+        } else {
+            Integer[] ids = members.toArray(new Integer[0]);
+            for (int p = 0; p < next.length; p++) {
+                next[p] = ids[p % ids.length];
+            }
+        }
+        owners = next;
+        rebalances++;
+    }
+}
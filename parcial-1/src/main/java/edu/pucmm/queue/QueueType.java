@@ -0,0 +1,40 @@
+package edu.pucmm.queue;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Implementaciones de cola intercambiables para productores y consumidores.
+ * ARRAY es la {@link ArrayBlockingQueue} original (un solo ReentrantLock); RING es el
+ * {@link MpmcRingBuffer} sin locks. INT_ARRAY e INT_RING son sus versiones primitivas ({@link IntQueue}),
+ * que no crean un Integer por elemento.
+ *
+ * @author me@fredpena.dev
+ * @created 18/10/2026  - 15:10
+ */
+public enum QueueType {
+    ARRAY,
+    RING,
+    INT_ARRAY,
+    INT_RING;
+
+    public boolean isPrimitive() {
+        return this == INT_ARRAY || this == INT_RING;
+    }
+
+    public <E> BlockingQueue<E> create(int capacity, WaitStrategy waitStrategy) {
+        return switch (this) {
+            case ARRAY -> new ArrayBlockingQueue<>(capacity);
+            case RING -> new MpmcRingBuffer<>(capacity, waitStrategy);
+            default -> throw new IllegalStateException(this + " es una cola primitiva; usar createInt.");
+        };
+    }
+
+    public IntQueue createInt(int capacity, WaitStrategy waitStrategy) {
+        return switch (this) {
+            case INT_ARRAY -> new IntArrayBlockingQueue(capacity);
+            case INT_RING -> new IntRingBuffer(capacity, waitStrategy);
+            default -> throw new IllegalStateException(this + " no es una cola primitiva; usar create.");
+        };
+    }
+}
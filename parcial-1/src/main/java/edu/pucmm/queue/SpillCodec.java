@@ -0,0 +1,30 @@
+package edu.pucmm.queue;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Formato en disco de los elementos que la política {@link OverflowPolicy#SPILL} guarda en archivo.
+ *
+ * @author me@fredpena.dev
+ * @created 18/10/2026  - 20:15
+ */
+public interface SpillCodec<E> {
+
+    SpillCodec<Integer> INT = new SpillCodec<>() {
+        @Override
+        public void write(DataOutput out, Integer item) throws IOException {
+            out.writeInt(item);
+        }
+
+        @Override
+        public Integer read(DataInput in) throws IOException {
+            return in.readInt();
+        }
+    };
+
+    void write(DataOutput out, E item) throws IOException;
+
+    E read(DataInput in) throws IOException;
+}
@@ -0,0 +1,115 @@
+package edu.pucmm.queue;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Archivo FIFO de desbordamiento: se escribe al final y se lee desde el principio, con buffers en los dos
+ * lados para no hacer una llamada al sistema por elemento. Cuando se reinyecta todo, el archivo se trunca
+ * para no crecer sin límite. Las operaciones que tocan el archivo van bajo el monitor del objeto;
+ * {@link #isEmpty()} y {@link #pending()} no lo toman, así un productor con el archivo vacío no espera al
+ * hilo que reinyecta.
+ *
+ * @author me@fredpena.dev
+ * @created 18/10/2026  - 20:15
+ */
+final class SpillFile<E> {
+
+    private static final int BUFFER_BYTES = 64 * 1024;
+
+    private final Path path;
+    private final SpillCodec<E> codec;
+    private DataOutputStream out;
+    private DataInputStream in;
+    private E head; // Leído del archivo pero todavía sin lugar en la cola
+    private boolean written; // Hay algo en el archivo desde el último truncado
+    private volatile long pending; // Solo se modifica bajo el monitor
+
+    SpillFile(Path path, SpillCodec<E> codec) throws IOException {
+        this.path = path;
+        this.codec = codec;
+        open();
+    }
+
+    synchronized void append(E item) throws IOException {
+        codec.write(out, item);
+        written = true;
+        pending++;
+    }
+
+    /**
+     * Entrega el elemento a la cola si el archivo está vacío y hay espacio; si no, lo agrega al archivo.
+     * Como usa el mismo monitor que {@link #replayInto}, ningún elemento nuevo adelanta a uno que ya
+     * está en el archivo: desde el primer desbordamiento todos van al archivo hasta que se vacía.
+     *
+     * @return true si entró directamente a la cola, false si se escribió en el archivo
+     */
+    synchronized boolean offerOrAppend(E item, BlockingQueue<E> queue) throws IOException {
+        if (pending == 0 && queue.offer(item)) {
+            return true;
+        }
+        append(item);
+        return false;
+    }
+
+    boolean isEmpty() {
+        return pending == 0;
+    }
+
+    long pending() {
+        return pending;
+    }
+
+    /**
+     * Pasa elementos del archivo a la cola, en orden, mientras la cola tenga espacio.
+     *
+     * @return cantidad de elementos reinyectados
+     */
+    synchronized int replayInto(BlockingQueue<E> queue) throws IOException {
+        if (pending == 0) {
+            return 0;
+        }
+        out.flush(); // Lo que quedó en el buffer de escritura tiene que ser visible para la lectura
+        int replayed = 0;
+        while (pending > 0) {
+            if (head == null) {
+                head = codec.read(in);
+            }
+            if (!queue.offer(head)) {
+                break; // Se vuelve a intentar en la próxima llamada
+            }
+            head = null;
+            pending--;
+            replayed++;
+        }
+        if (pending == 0 && written) {
+            close();
+            open(); // Trunca el archivo
+        }
+        return replayed;
+    }
+
+    synchronized void delete() throws IOException {
+        close();
+        Files.deleteIfExists(path);
+    }
+
+    private void open() throws IOException {
+        out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(path.toFile()), BUFFER_BYTES));
+        in = new DataInputStream(new BufferedInputStream(new FileInputStream(path.toFile()), BUFFER_BYTES));
+        written = false;
+    }
+
+    private void close() throws IOException {
+        out.close();
+        in.close();
+    }
+}
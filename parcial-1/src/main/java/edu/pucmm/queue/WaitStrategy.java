@@ -0,0 +1,49 @@
+package edu.pucmm.queue;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Qué hace un hilo mientras espera espacio o elementos en una cola sin locks.
+ * SPIN mantiene el núcleo ocupado con la menor latencia, YIELD cede el procesador al planificador
+ * y PARK duerme con espera exponencial (1 µs hasta 1 ms), útil cuando hay más hilos que núcleos.
+ *
+ * @author me@fredpena.dev
+ * @created 18/10/2026  - 15:10
+ */
+public enum WaitStrategy {
+    SPIN {
+        @Override
+        public void idle(int attempt) {
+            Thread.onSpinWait();
+        }
+    },
+    YIELD {
+        @Override
+        public void idle(int attempt) {
+            if (attempt < SPIN_TRIES) {
+                Thread.onSpinWait();
+            } else {
+                Thread.yield();
+            }
+        }
+    },
+    PARK {
+        @Override
+        public void idle(int attempt) {
+            if (attempt < SPIN_TRIES) {
+                Thread.onSpinWait();
+            } else {
+                int shift = Math.min(attempt - SPIN_TRIES, MAX_PARK_SHIFT);
+                LockSupport.parkNanos(1_000L << shift);
+            }
+        }
+    };
+
+    private static final int SPIN_TRIES = 100;
+    private static final int MAX_PARK_SHIFT = 10; // 1 µs << 10 ≈ 1 ms
+
+    /**
+     * @param attempt cuántas veces seguidas ha esperado el hilo en esta operación (empieza en 0)
+     */
+    public abstract void idle(int attempt);
+}
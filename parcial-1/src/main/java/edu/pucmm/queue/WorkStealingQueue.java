@@ -0,0 +1,157 @@
+package edu.pucmm.queue;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Colas fragmentadas con robo de trabajo: reparte la contención de una sola cabeza y cola entre varios shards.
+ * <p>
+ * Cada productor publica en su propio shard. Cada consumidor ({@link Worker}) toma primero de su shard
+ * preferido y, si está vacío, roba la mitad de los elementos de otro shard de una sola vez. Lo robado queda
+ * en un buffer local del consumidor, así el siguiente elemento no vuelve a tocar una cola compartida.
+ * <p>
+ * Terminación global: cada productor llama a {@link #producerDone()} después de su último put. Un consumidor
+ * termina ({@link Worker#take()} devuelve null) cuando ya no quedan productores y todos los shards están
+ * vacíos; como el aviso de cada productor ocurre después de sus put, en ese momento no puede llegar nada más.
+ *
+ * @author me@fredpena.dev
+ * @created 18/10/2026  - 21:50
+ */
+public class WorkStealingQueue<E> {
+
+    private final List<BlockingQueue<E>> shards = new ArrayList<>();
+    private final WaitStrategy waitStrategy;
+    private final AtomicInteger remainingProducers;
+    private volatile boolean producersFinished;
+
+    private final LongAdder localTakes = new LongAdder();
+    private final LongAdder steals = new LongAdder();
+    private final LongAdder stolenItems = new LongAdder();
+
+    public WorkStealingQueue(int shardCount, int capacityPerShard, QueueType queueType,
+                             WaitStrategy waitStrategy, int producerCount) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("Se requiere al menos un shard.");
+        }
+        for (int i = 0; i < shardCount; i++) {
+            shards.add(queueType.create(capacityPerShard, waitStrategy));
+        }
+        this.waitStrategy = waitStrategy;
+        this.remainingProducers = new AtomicInteger(producerCount);
+        this.producersFinished = producerCount == 0;
+    }
+
+    /**
+     * Coloca el elemento en el shard indicado (normalmente el del productor), esperando si está lleno.
+     */
+    public void put(int shard, E item) throws InterruptedException {
+        shards.get(Math.floorMod(shard, shards.size())).put(item);
+    }
+
+    /**
+     * Lo llama cada productor después de publicar su último elemento.
+     */
+    public void producerDone() {
+        if (remainingProducers.decrementAndGet() == 0) {
+            producersFinished = true;
+        }
+    }
+
+    /**
+     * @param preferredShard shard que el consumidor revisa primero; se toma módulo la cantidad de shards
+     */
+    public Worker worker(int preferredShard) {
+        return new Worker(Math.floorMod(preferredShard, shards.size()));
+    }
+
+    public int shardCount() {
+        return shards.size();
+    }
+
+    public boolean isEmpty() {
+        for (BlockingQueue<E> shard : shards) {
+            if (!shard.isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long getLocalTakes() {
+        return localTakes.sum();
+    }
+
+    public long getSteals() {
+        return steals.sum();
+    }
+
+    public long getStolenItems() {
+        return stolenItems.sum();
+    }
+
+    /**
+     * Lado de un consumidor. No es thread-safe: cada consumidor usa su propio Worker.
+     */
+    public final class Worker {
+        private final int home;
+        private final ArrayDeque<E> stolen = new ArrayDeque<>();
+
+        private Worker(int home) {
+            this.home = home;
+        }
+
+        /**
+         * Espera un elemento de su shard o robado de otro.
+         *
+         * @return el elemento, o null si ya terminaron todos los productores y no quedan elementos
+         */
+        public E take() throws InterruptedException {
+            int attempt = 0;
+            while (true) {
+                E item = stolen.poll();
+                if (item != null) {
+                    return item;
+                }
+                item = shards.get(home).poll();
+                if (item != null) {
+                    localTakes.increment();
+                    return item;
+                }
+                if (steal()) {
+                    continue;
+                }
+                // Primero el aviso y después los shards: si el aviso ya llegó, todos los put son visibles
+                if (producersFinished && isEmpty()) {
+                    return null;
+                }
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+                waitStrategy.idle(attempt++);
+            }
+        }
+
+        // Recorre los demás shards a partir del siguiente al propio y se lleva la mitad del primero con elementos
+        private boolean steal() {
+            int count = shards.size();
+            for (int i = 1; i < count; i++) {
+                BlockingQueue<E> victim = shards.get((home + i) % count);
+                int size = victim.size();
+                if (size == 0) {
+                    continue;
+                }
+                int taken = victim.drainTo(stolen, (size + 1) / 2);
+                if (taken > 0) {
+                    steals.increment();
+                    stolenItems.add(taken);
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
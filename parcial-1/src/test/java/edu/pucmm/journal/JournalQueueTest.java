@@ -0,0 +1,205 @@
+package edu.pucmm.journal;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Caídas simuladas: se deja de usar el journal sin confirmar lo que quedó a medias y se reabre el
+ * directorio, como haría un proceso nuevo.
+ *
+ * @author me@fredpena.dev
+ * @created 19/10/2026  - 10:05
+ */
+public class JournalQueueTest {
+
+    // Siete registros int por segmento, así las pruebas cruzan varios saltos
+    private static final int SEGMENT_SIZE = 64;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void unconfirmedRecordHoldsBackCommitOfLaterRecords() throws Exception {
+        Path directory = folder.getRoot().toPath();
+        try (JournalQueue journal = open(directory)) {
+            for (int i = 0; i < 20; i++) {
+                journal.appendInt(i);
+            }
+            JournalQueue.Reader reader = journal.reader("consumidores");
+            // Otro hilo lee el primer registro y se "cae" antes de confirmarlo
+            Thread slow = new Thread(() -> {
+                try {
+                    assertEquals(0, reader.readInt());
+                } catch (IOException e) {
+                    throw new AssertionError(e);
+                }
+            });
+            slow.start();
+            slow.join();
+            for (int i = 1; i < 20; i++) {
+                assertEquals(i, reader.readInt());
+                reader.commit();
+            }
+        }
+        try (JournalQueue journal = open(directory)) {
+            JournalQueue.Reader reader = journal.reader("consumidores");
+            for (int i = 0; i < 20; i++) {
+                assertEquals(i, reader.readInt()); // Se vuelve a entregar desde el registro sin confirmar
+            }
+            assertEquals(JournalQueue.EMPTY, reader.readInt());
+        }
+    }
+
+    @Test
+    public void sharedReaderLeavesNoGapsAfterCrash() throws Exception {
+        Path directory = folder.getRoot().toPath();
+        int records = 5_000;
+        int consumers = 4;
+        BitSet processed = new BitSet(records);
+        try (JournalQueue journal = open(directory)) {
+            for (int i = 0; i < records; i++) {
+                journal.appendInt(i);
+            }
+            JournalQueue.Reader reader = journal.reader("consumidores");
+            AtomicBoolean crash = new AtomicBoolean();
+            CountDownLatch started = new CountDownLatch(consumers);
+            List<Thread> threads = new ArrayList<>();
+            for (int c = 0; c < consumers; c++) {
+                Thread thread = new Thread(() -> {
+                    started.countDown();
+                    try {
+                        while (true) {
+                            long record = reader.readInt();
+                            if (record == JournalQueue.EMPTY || crash.get()) {
+                                return; // Con la caída, lo leído queda sin confirmar
+                            }
+                            synchronized (processed) {
+                                processed.set((int) record);
+                            }
+                            reader.commit();
+                        }
+                    } catch (IOException e) {
+                        throw new AssertionError(e);
+                    }
+                });
+                threads.add(thread);
+                thread.start();
+            }
+            started.await();
+            TimeUnit.MILLISECONDS.sleep(5);
+            crash.set(true);
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        }
+        try (JournalQueue journal = open(directory)) {
+            JournalQueue.Reader reader = journal.reader("consumidores");
+            long record;
+            while ((record = reader.readInt()) != JournalQueue.EMPTY) {
+                processed.set((int) record);
+            }
+        }
+        assertEquals("Registros perdidos tras la caída", records, processed.cardinality());
+    }
+
+    @Test
+    public void separateReadersEachSeeEveryRecord() throws Exception {
+        Path directory = folder.getRoot().toPath();
+        try (JournalQueue journal = open(directory)) {
+            for (int i = 0; i < 10; i++) {
+                journal.appendInt(i);
+            }
+            JournalQueue.Reader first = journal.reader("primero");
+            JournalQueue.Reader second = journal.reader("segundo");
+            for (int i = 0; i < 10; i++) {
+                assertEquals(i, first.readInt());
+                first.commit();
+            }
+            for (int i = 0; i < 5; i++) {
+                assertEquals(i, second.readInt());
+                second.commit();
+            }
+        }
+        try (JournalQueue journal = open(directory)) {
+            assertEquals(JournalQueue.EMPTY, journal.reader("primero").readInt());
+            JournalQueue.Reader second = journal.reader("segundo");
+            for (int i = 5; i < 10; i++) {
+                assertEquals(i, second.readInt());
+            }
+            assertTrue(second.position() > 0);
+        }
+    }
+
+    @Test
+    public void reopenCompletesRollInterruptedBeforeMarker() throws Exception {
+        Path directory = folder.getRoot().toPath();
+        try (JournalQueue journal = open(directory)) {
+            for (int i = 0; i < 7; i++) {
+                journal.appendInt(i); // Llena el primer segmento
+            }
+        }
+        // Caída dentro del salto: el siguiente segmento ya existe pero el primero no tiene marcador
+        Files.write(directory.resolve(String.format("%020d.seg", 1)), new byte[SEGMENT_SIZE]);
+        try (JournalQueue journal = open(directory)) {
+            journal.appendInt(7);
+            JournalQueue.Reader reader = journal.reader("consumidores");
+            for (int i = 0; i < 8; i++) {
+                assertEquals(i, reader.readInt());
+            }
+            assertEquals(JournalQueue.EMPTY, reader.readInt());
+        }
+    }
+
+    @Test
+    public void reopenClearsTornRecordAfterLastHeader() throws Exception {
+        Path directory = folder.getRoot().toPath();
+        // Caída dentro de un append: los datos quedaron escritos, el encabezado todavía en 0
+        byte[] segment = new byte[SEGMENT_SIZE];
+        Arrays.fill(segment, 4, 24, (byte) 0x09);
+        Files.write(directory.resolve(String.format("%020d.seg", 0)), segment);
+        try (JournalQueue journal = open(directory)) {
+            journal.appendInt(7);
+            JournalQueue.Reader reader = journal.reader("consumidores");
+            assertEquals(7, reader.readInt());
+            assertEquals(JournalQueue.EMPTY, reader.readInt());
+        }
+    }
+
+    @Test
+    public void retentionDeletesSegmentsBehindEveryCursor() throws Exception {
+        Path directory = folder.getRoot().toPath();
+        try (JournalQueue journal = open(directory)) {
+            JournalQueue.Reader reader = journal.reader("consumidores");
+            for (int i = 0; i < 100; i++) {
+                journal.appendInt(i);
+                assertEquals(i, reader.readInt());
+                reader.commit();
+            }
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (Files.exists(directory.resolve(String.format("%020d.seg", 0))) && System.nanoTime() < deadline) {
+                TimeUnit.MILLISECONDS.sleep(1); // La retención corre en el hilo de fondo
+            }
+            assertFalse(Files.exists(directory.resolve(String.format("%020d.seg", 0))));
+        }
+    }
+
+    private static JournalQueue open(Path directory) throws IOException {
+        return new JournalQueue(directory, SEGMENT_SIZE, 2, Durability.OS, 0, TimeUnit.MILLISECONDS);
+    }
+}
@@ -9,15 +9,30 @@ public class Main {
         Scanner scanner = new Scanner(System.in);
         NetworkManager manager = new NetworkManager();
 
-        System.out.println("Topologías disponibles: bus, ring, tree, fullyconnected, mesh, star, hypercube, switched");
+        System.out.println("Topologías disponibles: bus, ring, tree, fullyconnected, mesh, star, hypercube, switched,"
+                + " mesh2d, mesh3d, torus2d, torus3d (o mesh:8x8, torus:16x16x16)");
         System.out.print("Selecciona una topología: ");
         String tipo = scanner.nextLine();
 
         System.out.print("Número de nodos: ");
         int nodos = scanner.nextInt();
+        scanner.nextLine(); // consumir newline
+
+        System.out.print("Planificador de nodos (platform, virtual, eventloop) [platform]: ");
+        String planificador = scanner.nextLine().trim();
+        if (!planificador.isEmpty()) {
+            manager.setScheduler(planificador);
+        }
+
+        System.out.print("Modo de envío (routing, flooding) [routing]: ");
+        String modo = scanner.nextLine().trim();
+        if (!modo.isEmpty()) {
+            manager.setDelivery(modo);
+        }
 
         manager.setupTopology(tipo, nodos);
         manager.showState();
+        manager.enableMetrics();
 
         manager.startSimulation();
 
@@ -39,6 +54,7 @@ public class Main {
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
         }
+        manager.showHotspots(5);
 
         System.exit(0); // Finaliza el programa y sus hilos
     }
@@ -0,0 +1,93 @@
+package edu.pucmm.bench;
+
+import edu.pucmm.collective.CollectiveResult;
+import edu.pucmm.collective.Collectives;
+import edu.pucmm.core.NetworkManager;
+
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// Tiempo de cada operación colectiva por topología y cantidad de nodos, en CSV. Cada operación se repite
+// repeat veces y se reporta la mediana, para que no pese la primera corrida (JIT, hilos que recién arrancan).
+//
+// Opciones clave=valor, por ejemplo: CollectiveBenchmark topologies=tree,ring,hypercube nodes=16,64 size=4096
+//   topologies (tree,ring,hypercube,fully,star), nodes (16), size: doubles por vector (1024), repeat (5)
+//   scheduler (eventloop), delivery (routing), out (salida estándar)
+public class CollectiveBenchmark {
+
+    private static final String HEADER = "topology,nodes,scheduler,delivery,operation,algorithm,vector,median_ns";
+
+    public static void main(String[] args) throws InterruptedException, FileNotFoundException {
+        Map<String, String> options = NetworkBenchmark.parseOptions(args);
+        String[] topologies = options.getOrDefault("topologies", "tree,ring,hypercube,fully,star").split(",");
+        String[] sizes = options.getOrDefault("nodes", "16").split(",");
+        int vector = Integer.parseInt(options.getOrDefault("size", "1024"));
+        int repeat = Math.max(1, Integer.parseInt(options.getOrDefault("repeat", "5")));
+        String scheduler = options.getOrDefault("scheduler", "eventloop");
+        String delivery = options.getOrDefault("delivery", "routing");
+        String file = options.get("out");
+
+        PrintStream out = file == null ? System.out : new PrintStream(file);
+        try {
+            out.println(HEADER);
+            for (String topology : topologies) {
+                for (String size : sizes) {
+                    int nodes = Integer.parseInt(size.trim());
+                    NetworkManager manager = new NetworkManager();
+                    manager.setScheduler(scheduler);
+                    manager.setDelivery(delivery);
+                    manager.setupTopology(topology.trim(), nodes);
+                    if (manager.getTopology() == null) {
+                        throw new IllegalArgumentException("Topología no reconocida: " + topology);
+                    }
+                    manager.startSimulation();
+                    try {
+                        for (List<CollectiveResult> runs : measure(new Collectives(manager.getTopology()), nodes,
+                                vector, repeat)) {
+                            CollectiveResult first = runs.get(0);
+                            long[] nanos = runs.stream().mapToLong(CollectiveResult::nanos).sorted().toArray();
+                            out.println(String.join(",", topology.trim(), String.valueOf(nodes), scheduler, delivery,
+                                    first.operation(), first.algorithm(), String.valueOf(vector),
+                                    String.valueOf(nanos[nanos.length / 2])));
+                        }
+                        out.flush();
+                    } finally {
+                        manager.stopSimulation();
+                    }
+                }
+            }
+        } finally {
+            if (out != System.out) {
+                out.close();
+            }
+        }
+        System.exit(0); // Igual que Main: termina los hilos que queden
+    }
+
+    // Corre cada operación repeat veces; una lista de resultados por operación
+    private static List<List<CollectiveResult>> measure(Collectives collectives, int nodes, int vector, int repeat)
+            throws InterruptedException {
+        double[][] inputs = new double[nodes][vector];
+        for (int rank = 0; rank < nodes; rank++) {
+            for (int i = 0; i < vector; i++) {
+                inputs[rank][i] = rank + i;
+            }
+        }
+        List<List<CollectiveResult>> results = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            results.add(new ArrayList<>());
+        }
+        for (int r = 0; r < repeat; r++) {
+            results.get(0).add(collectives.broadcast(0, inputs[0]));
+            results.get(1).add(collectives.reduce(0, inputs, Double::sum));
+            results.get(2).add(collectives.allReduce(inputs, Double::sum));
+            results.get(3).add(collectives.scatter(0, inputs[0]));
+            results.get(4).add(collectives.gather(0, inputs));
+            results.get(5).add(collectives.barrier());
+        }
+        return results;
+    }
+}
@@ -0,0 +1,209 @@
+package edu.pucmm.bench;
+
+import edu.pucmm.core.Message;
+import edu.pucmm.core.NetworkManager;
+import edu.pucmm.core.Node;
+import edu.pucmm.metrics.LatencyHistogram;
+import edu.pucmm.traffic.TrafficGenerator;
+import edu.pucmm.traffic.TrafficPattern;
+import edu.pucmm.traffic.TrafficPatterns;
+
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+// Corrida sin interacción: para cada topología y cantidad de nodos inyecta mensajes con un patrón de tráfico a
+// una tasa objetivo y mide en el destino mensajes por segundo, latencia de extremo a extremo (p50, p99, p999 y
+// máxima, en ns) y saltos promedio. El resultado es CSV, una fila por combinación. Subiendo rate hasta que
+// messages_per_sec deja de seguirla se encuentra el punto de saturación de cada topología.
+//
+// Opciones clave=valor, por ejemplo: NetworkBenchmark topologies=ring,hypercube nodes=64,1024 messages=20000
+//   topologies: bus, ring, tree, fully, mesh, star, hypercube, switched (por defecto todas); también
+//     mesh2d, mesh3d, torus2d, torus3d o dimensiones fijas como torus:32x32x32
+//   nodes: cantidades de nodos (por defecto 64; hypercube requiere potencias de 2)
+//   messages (10000), warmup (1000), rate en mensajes/s (0: sin límite), timeout en segundos (30)
+//   pattern: uniform, hotspot, alltoall, neighbor, complement, reversal, transpose, tornado (uniform)
+//   hotspot: nodo destino del hotspot (0); fraction: fracción de tráfico al hotspot (0.2)
+//   injectors: hilos inyectores (1); size: caracteres por mensaje (16)
+//   scheduler: platform, virtual, eventloop (eventloop); delivery: routing, flooding (routing)
+//   hotspots: con N > 0 activa las métricas por nodo y escribe en stderr los N nodos y enlaces más cargados (0)
+//   out: archivo CSV (por defecto la salida estándar)
+public class NetworkBenchmark {
+
+    private static final String HEADER = "topology,nodes,scheduler,delivery,pattern,size,messages,rate,injected,"
+            + "delivered,messages_per_sec,p50_ns,p99_ns,p999_ns,max_ns,mean_hops";
+
+    private final String scheduler;
+    private final String delivery;
+    private final int messages;
+    private final int warmup;
+    private final int rate;
+    private final long timeoutNanos;
+    private final String pattern;
+    private final int hotspotNode;
+    private final double hotspotFraction;
+    private final int injectors;
+    private final int messageSize;
+    private int hotspots;
+
+    public NetworkBenchmark(String scheduler, String delivery, int messages, int warmup, int rate, long timeoutSeconds,
+                            String pattern, int hotspotNode, double hotspotFraction, int injectors, int messageSize) {
+        this.scheduler = scheduler;
+        this.delivery = delivery;
+        this.messages = messages;
+        this.warmup = warmup;
+        this.rate = rate;
+        this.timeoutNanos = TimeUnit.SECONDS.toNanos(timeoutSeconds);
+        this.pattern = pattern;
+        this.hotspotNode = hotspotNode;
+        this.hotspotFraction = hotspotFraction;
+        this.injectors = injectors;
+        this.messageSize = messageSize;
+    }
+
+    public static void main(String[] args) throws InterruptedException, FileNotFoundException {
+        Map<String, String> options = parseOptions(args);
+        String[] topologies = options.getOrDefault("topologies", "bus,ring,tree,fully,mesh,star,hypercube,switched")
+                .split(",");
+        String[] sizes = options.getOrDefault("nodes", "64").split(",");
+        NetworkBenchmark benchmark = new NetworkBenchmark(
+                options.getOrDefault("scheduler", "eventloop"),
+                options.getOrDefault("delivery", "routing"),
+                Integer.parseInt(options.getOrDefault("messages", "10000")),
+                Integer.parseInt(options.getOrDefault("warmup", "1000")),
+                Integer.parseInt(options.getOrDefault("rate", "0")),
+                Long.parseLong(options.getOrDefault("timeout", "30")),
+                options.getOrDefault("pattern", "uniform"),
+                Integer.parseInt(options.getOrDefault("hotspot", "0")),
+                Double.parseDouble(options.getOrDefault("fraction", "0.2")),
+                Integer.parseInt(options.getOrDefault("injectors", "1")),
+                Integer.parseInt(options.getOrDefault("size", "16")));
+        benchmark.setHotspots(Integer.parseInt(options.getOrDefault("hotspots", "0")));
+        String file = options.get("out");
+
+        PrintStream out = file == null ? System.out : new PrintStream(file);
+        try {
+            out.println(HEADER);
+            for (String topology : topologies) {
+                for (String size : sizes) {
+                    out.println(benchmark.run(topology.trim(), Integer.parseInt(size.trim())));
+                    out.flush();
+                }
+            }
+        } finally {
+            if (out != System.out) {
+                out.close();
+            }
+        }
+        System.exit(0); // Igual que Main: termina los hilos que queden
+    }
+
+    // Con count > 0 cada corrida mide por nodo y reporta los count nodos y enlaces más cargados
+    public void setHotspots(int count) {
+        this.hotspots = count;
+    }
+
+    // Opciones clave=valor de la línea de comandos
+    public static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Opción inválida (se espera clave=valor): " + arg);
+            }
+            options.put(arg.substring(0, separator).toLowerCase(), arg.substring(separator + 1));
+        }
+        return options;
+    }
+
+    // Configura la topología, calienta, mide y la detiene; devuelve la fila CSV
+    public String run(String topology, int nodes) throws InterruptedException {
+        NetworkManager manager = new NetworkManager();
+        manager.setScheduler(scheduler);
+        manager.setDelivery(delivery);
+        manager.setupTopology(topology, nodes);
+        if (manager.getTopology() == null) {
+            throw new IllegalArgumentException("Topología no reconocida: " + topology);
+        }
+
+        TrafficPattern traffic = TrafficPatterns.create(pattern, manager.getTopology(), hotspotNode, hotspotFraction);
+        TrafficGenerator generator = new TrafficGenerator(manager.getTopology(), traffic, injectors, rate, messageSize);
+        Recorder recorder = new Recorder(generator);
+        manager.setDeliveryListener(recorder::onDelivery);
+        if (hotspots > 0) {
+            manager.enableMetrics();
+        }
+        manager.startSimulation();
+        try {
+            await(recorder.delivered, generator.run(warmup));
+            recorder.delivered.reset();
+            recorder.recording = true;
+
+            long start = System.nanoTime();
+            long injected = generator.run(messages);
+            await(recorder.delivered, injected);
+            long delivered = recorder.delivered.sum();
+            long elapsed = Math.max(1, recorder.lastDelivery.get() - start);
+
+            LatencyHistogram latency = recorder.latency;
+            double meanHops = delivered == 0 ? 0 : (double) recorder.hops.sum() / delivered;
+            if (hotspots > 0) {
+                System.err.println(topology + " (" + nodes + " nodos), nodos más cargados:");
+                manager.getMetrics().hotspots(hotspots).forEach(node -> System.err.println("  " + node));
+                System.err.println("Enlaces más usados:");
+                manager.getMetrics().linkHotspots(hotspots).forEach(link -> System.err.println(
+                        "  " + link.fromId() + " -> " + link.toId() + ": " + link.messages()));
+            }
+            return String.join(",", topology, String.valueOf(nodes), scheduler, delivery, pattern,
+                    String.valueOf(messageSize), String.valueOf(messages), String.valueOf(rate),
+                    String.valueOf(injected), String.valueOf(delivered),
+                    String.format(Locale.ROOT, "%.0f", delivered / (elapsed / 1e9)),
+                    String.valueOf(latency.percentile(50)), String.valueOf(latency.percentile(99)),
+                    String.valueOf(latency.percentile(99.9)), String.valueOf(latency.getMax()),
+                    String.format(Locale.ROOT, "%.2f", meanHops));
+        } finally {
+            manager.stopSimulation();
+        }
+    }
+
+    // Espera hasta que lleguen count mensajes o se cumpla el timeout
+    private void await(LongAdder delivered, long count) {
+        long deadline = System.nanoTime() + timeoutNanos;
+        while (delivered.sum() < count && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+    }
+
+    // Estado de una corrida; lo actualizan los hilos de los nodos destino
+    private static final class Recorder {
+        private final TrafficGenerator generator; // Solo cuentan los mensajes que inyectó
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder delivered = new LongAdder();
+        private final LongAdder hops = new LongAdder();
+        private final AtomicLong lastDelivery = new AtomicLong();
+        private volatile boolean recording; // false durante el calentamiento
+
+        private Recorder(TrafficGenerator generator) {
+            this.generator = generator;
+        }
+
+        private void onDelivery(Node destination, Message message) {
+            if (!generator.isInjected(message)) {
+                return;
+            }
+            if (recording) {
+                long now = System.nanoTime();
+                latency.record(now - message.getCreatedNanos());
+                hops.add(message.getHops());
+                lastDelivery.accumulateAndGet(now, Math::max);
+            }
+            delivered.increment();
+        }
+    }
+}
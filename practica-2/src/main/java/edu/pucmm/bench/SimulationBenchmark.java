@@ -0,0 +1,96 @@
+package edu.pucmm.bench;
+
+import edu.pucmm.core.NetworkManager;
+import edu.pucmm.sim.DiscreteEventSimulator;
+import edu.pucmm.sim.LinkModel;
+import edu.pucmm.sim.SimulationResult;
+import edu.pucmm.sim.Switching;
+import edu.pucmm.traffic.TrafficPattern;
+import edu.pucmm.traffic.TrafficPatterns;
+
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
+import java.util.Locale;
+import java.util.Map;
+
+// Barrido de tasas de inyección con el simulador de eventos discretos: para cada topología y cantidad de nodos
+// corre una simulación por tasa y escribe una fila CSV. El tiempo es virtual, así que el resultado es el mismo
+// en cualquier máquina. La columna saturated marca las tasas en que la red ya no acepta lo que se le ofrece
+// (descartes, o throughput por debajo del 95% de la tasa); la primera de ellas es el punto de saturación.
+//
+// Opciones clave=valor, por ejemplo: SimulationBenchmark topologies=ring,hypercube nodes=64 rates=1e6,1e7,1e8
+//   topologies: bus, ring, tree, fully, mesh, star, hypercube, switched (por defecto todas); también
+//     mesh2d, mesh3d, torus2d, torus3d o dimensiones fijas como torus:32x32x32
+//   nodes: cantidades de nodos (64); rates: tasas totales en mensajes/s virtuales (1e5,1e6,1e7,1e8)
+//   messages (100000), warmup (10000), size en bytes (64), seed (1)
+//   bandwidth en bytes/s (1e9), latency en ns (100), buffer en mensajes por enlace (64), header en bytes (8)
+//   switching: store_and_forward, cut_through (store_and_forward)
+//   pattern, hotspot y fraction: igual que NetworkBenchmark (uniform)
+//   out: archivo CSV (por defecto la salida estándar)
+public class SimulationBenchmark {
+
+    private static final String HEADER = "topology,nodes,switching,pattern,size,bandwidth,latency_ns,buffer,rate,"
+            + "injected,delivered,dropped,throughput,p50_ns,p99_ns,p999_ns,max_ns,mean_hops,saturated,events_per_sec";
+
+    public static void main(String[] args) throws FileNotFoundException {
+        Map<String, String> options = NetworkBenchmark.parseOptions(args);
+        String[] topologies = options.getOrDefault("topologies", "bus,ring,tree,fully,mesh,star,hypercube,switched")
+                .split(",");
+        String[] sizes = options.getOrDefault("nodes", "64").split(",");
+        String[] rates = options.getOrDefault("rates", "1e5,1e6,1e7,1e8").split(",");
+        int messages = Integer.parseInt(options.getOrDefault("messages", "100000"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "10000"));
+        int messageSize = Integer.parseInt(options.getOrDefault("size", "64"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "1"));
+        LinkModel link = new LinkModel((long) Double.parseDouble(options.getOrDefault("bandwidth", "1e9")),
+                Long.parseLong(options.getOrDefault("latency", "100")),
+                Integer.parseInt(options.getOrDefault("buffer", "64")));
+        int header = Integer.parseInt(options.getOrDefault("header", "8"));
+        Switching switching = Switching.valueOf(options.getOrDefault("switching", "store_and_forward").toUpperCase());
+        String pattern = options.getOrDefault("pattern", "uniform");
+        int hotspotNode = Integer.parseInt(options.getOrDefault("hotspot", "0"));
+        double hotspotFraction = Double.parseDouble(options.getOrDefault("fraction", "0.2"));
+        String file = options.get("out");
+
+        PrintStream out = file == null ? System.out : new PrintStream(file);
+        try {
+            out.println(HEADER);
+            for (String topology : topologies) {
+                for (String size : sizes) {
+                    // Solo se configura la red: los nodos no arrancan, el simulador usa sus enlaces y rutas
+                    NetworkManager manager = new NetworkManager();
+                    manager.setupTopology(topology.trim(), Integer.parseInt(size.trim()));
+                    if (manager.getTopology() == null) {
+                        throw new IllegalArgumentException("Topología no reconocida: " + topology);
+                    }
+                    TrafficPattern traffic = TrafficPatterns.create(pattern, manager.getTopology(), hotspotNode,
+                            hotspotFraction);
+                    DiscreteEventSimulator simulator = new DiscreteEventSimulator(manager.getTopology(), link,
+                            switching, header);
+                    for (String rate : rates) {
+                        SimulationResult result = simulator.run(traffic, Double.parseDouble(rate.trim()),
+                                messageSize, warmup, messages, seed);
+                        out.println(String.join(",", topology.trim(), size.trim(),
+                                switching.name().toLowerCase(), pattern, String.valueOf(messageSize),
+                                String.valueOf(link.bandwidth()), String.valueOf(link.latencyNanos()),
+                                String.valueOf(link.bufferSize()),
+                                String.format(Locale.ROOT, "%.0f", result.offeredRate()),
+                                String.valueOf(result.injected()), String.valueOf(result.delivered()),
+                                String.valueOf(result.dropped()),
+                                String.format(Locale.ROOT, "%.0f", result.throughput()),
+                                String.valueOf(result.p50Nanos()), String.valueOf(result.p99Nanos()),
+                                String.valueOf(result.p999Nanos()), String.valueOf(result.maxNanos()),
+                                String.format(Locale.ROOT, "%.2f", result.meanHops()),
+                                String.valueOf(result.saturated()),
+                                String.format(Locale.ROOT, "%.0f", result.eventsPerSecond())));
+                        out.flush();
+                    }
+                }
+            }
+        } finally {
+            if (out != System.out) {
+                out.close();
+            }
+        }
+    }
+}
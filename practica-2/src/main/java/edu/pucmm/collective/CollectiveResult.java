@@ -0,0 +1,11 @@
+package edu.pucmm.collective;
+
+// Resultado de una operación colectiva: algoritmo usado, tiempo hasta que terminó el último nodo y el valor
+// que quedó en cada rango (null en los rangos que no reciben resultado, como los que no son raíz en reduce)
+public record CollectiveResult(String operation, String algorithm, long nanos, double[][] values) {
+
+    @Override
+    public String toString() {
+        return String.format("%s (%s): %.3f ms", operation, algorithm, nanos / 1e6);
+    }
+}
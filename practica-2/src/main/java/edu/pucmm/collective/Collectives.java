@@ -0,0 +1,267 @@
+package edu.pucmm.collective;
+
+import edu.pucmm.topology.HypercubeNetwork;
+import edu.pucmm.topology.NetworkTopology;
+import edu.pucmm.topology.RingNetwork;
+import edu.pucmm.topology.TreeNetwork;
+
+import java.util.Arrays;
+import java.util.function.DoubleBinaryOperator;
+
+// Operaciones colectivas sobre una topología: cada una elige el algoritmo que aprovecha los enlaces de la red.
+//   broadcast / reduce: por las aristas del árbol en TreeNetwork; árbol binomial en las demás
+//   allReduce: recursive doubling en HypercubeNetwork (un intercambio por dimensión), anillo
+//     (reduce-scatter + all-gather, cada paso entre vecinos) en RingNetwork; reduce + broadcast en las demás
+//   scatter / gather: lineal desde / hacia la raíz
+//   barrier: dissemination (log2 N rondas)
+// Los vectores de entrada van indexados por rango (id del nodo). La topología debe estar iniciada.
+public class Collectives {
+
+    private static final int TAG_RELAY = 1;     // Entre la raíz pedida y la raíz del árbol
+    private static final int TAG_BROADCAST = 2;
+    private static final int TAG_REDUCE = 3;
+    private static final int TAG_SCATTER = 4;
+    private static final int TAG_GATHER = 5;
+    private static final int TAG_ROUNDS = 16;   // Primera etiqueta de los algoritmos por rondas
+
+    private static final double[] EMPTY = new double[0];
+
+    private final NetworkTopology topology;
+    private final Communicator communicator;
+    private final int size;
+
+    public Collectives(NetworkTopology topology) {
+        this.topology = topology;
+        this.communicator = new Communicator(topology);
+        this.size = communicator.size();
+    }
+
+    // Todos los rangos terminan con una copia de data, que parte de root
+    public CollectiveResult broadcast(int root, double[] data) throws InterruptedException {
+        double[][] values = new double[size][];
+        boolean tree = topology instanceof TreeNetwork;
+        long nanos = communicator.run(rank -> values[rank] = tree
+                ? treeBroadcast(rank, root, rank == root ? data : null)
+                : binomialBroadcast(rank, root, rank == root ? data : null, TAG_BROADCAST));
+        return new CollectiveResult("broadcast", tree ? "tree" : "binomial", nanos, values);
+    }
+
+    // root termina con la combinación elemento a elemento de todas las entradas
+    public CollectiveResult reduce(int root, double[][] inputs, DoubleBinaryOperator op) throws InterruptedException {
+        double[][] values = new double[size][];
+        boolean tree = topology instanceof TreeNetwork;
+        long nanos = communicator.run(rank -> {
+            double[] result = tree
+                    ? treeReduce(rank, root, inputs[rank], op)
+                    : binomialReduce(rank, root, inputs[rank], op, TAG_REDUCE);
+            if (rank == root) {
+                values[rank] = result;
+            }
+        });
+        return new CollectiveResult("reduce", tree ? "tree" : "binomial", nanos, values);
+    }
+
+    // Todos los rangos terminan con la combinación de todas las entradas
+    public CollectiveResult allReduce(double[][] inputs, DoubleBinaryOperator op) throws InterruptedException {
+        double[][] values = new double[size][];
+        String algorithm;
+        long nanos;
+        if (topology instanceof HypercubeNetwork) {
+            algorithm = "recursive-doubling";
+            nanos = communicator.run(rank -> values[rank] = recursiveDoubling(rank, inputs[rank], op));
+        } else if (topology instanceof RingNetwork) {
+            algorithm = "ring";
+            nanos = communicator.run(rank -> values[rank] = ringAllReduce(rank, inputs[rank], op));
+        } else {
+            algorithm = "reduce+broadcast";
+            nanos = communicator.run(rank -> {
+                double[] reduced = binomialReduce(rank, 0, inputs[rank], op, TAG_REDUCE);
+                values[rank] = binomialBroadcast(rank, 0, rank == 0 ? reduced : null, TAG_BROADCAST);
+            });
+        }
+        return new CollectiveResult("allreduce", algorithm, nanos, values);
+    }
+
+    // El rango i recibe el i-ésimo de size tramos contiguos de data
+    public CollectiveResult scatter(int root, double[] data) throws InterruptedException {
+        double[][] values = new double[size][];
+        long nanos = communicator.run(rank -> {
+            if (rank == root) {
+                for (int i = 0; i < size; i++) {
+                    communicator.send(root, i, TAG_SCATTER, chunk(data, i, size));
+                }
+            }
+            values[rank] = communicator.receive(rank, root, TAG_SCATTER);
+        });
+        return new CollectiveResult("scatter", "linear", nanos, values);
+    }
+
+    // root termina con las entradas de todos los rangos concatenadas en orden
+    public CollectiveResult gather(int root, double[][] inputs) throws InterruptedException {
+        double[][] values = new double[size][];
+        long nanos = communicator.run(rank -> {
+            communicator.send(rank, root, TAG_GATHER, inputs[rank]);
+            if (rank == root) {
+                double[][] parts = new double[size][];
+                int length = 0;
+                for (int i = 0; i < size; i++) {
+                    parts[i] = communicator.receive(root, i, TAG_GATHER);
+                    length += parts[i].length;
+                }
+                double[] all = new double[length];
+                int offset = 0;
+                for (double[] part : parts) {
+                    System.arraycopy(part, 0, all, offset, part.length);
+                    offset += part.length;
+                }
+                values[rank] = all;
+            }
+        });
+        return new CollectiveResult("gather", "linear", nanos, values);
+    }
+
+    // Ningún rango sale antes de que todos hayan entrado
+    public CollectiveResult barrier() throws InterruptedException {
+        long nanos = communicator.run(rank -> {
+            // En la ronda k cada rango avisa a rank + 2^k y espera a rank - 2^k
+            for (int distance = 1, round = 0; distance < size; distance <<= 1, round++) {
+                communicator.send(rank, (rank + distance) % size, TAG_ROUNDS + round, EMPTY);
+                communicator.receive(rank, (rank - distance + size) % size, TAG_ROUNDS + round);
+            }
+        });
+        return new CollectiveResult("barrier", "dissemination", nanos, new double[size][]);
+    }
+
+    // Con la numeración de TreeNetwork el padre de i es (i-1)/2 y sus hijos 2i+1 y 2i+2
+    private double[] treeBroadcast(int rank, int root, double[] data) throws InterruptedException {
+        double[] value = data;
+        if (root != 0) {
+            if (rank == root) {
+                communicator.send(root, 0, TAG_RELAY, data);
+            } else if (rank == 0) {
+                value = communicator.receive(0, root, TAG_RELAY);
+            }
+        }
+        if (rank != 0) {
+            value = communicator.receive(rank, (rank - 1) / 2, TAG_BROADCAST);
+        }
+        for (int child = 2 * rank + 1; child <= 2 * rank + 2 && child < size; child++) {
+            communicator.send(rank, child, TAG_BROADCAST, value);
+        }
+        return value;
+    }
+
+    private double[] treeReduce(int rank, int root, double[] input, DoubleBinaryOperator op)
+            throws InterruptedException {
+        double[] value = input;
+        for (int child = 2 * rank + 1; child <= 2 * rank + 2 && child < size; child++) {
+            value = combine(value, communicator.receive(rank, child, TAG_REDUCE), op);
+        }
+        if (rank != 0) {
+            communicator.send(rank, (rank - 1) / 2, TAG_REDUCE, value);
+        } else if (root != 0) {
+            communicator.send(0, root, TAG_RELAY, value);
+        }
+        if (rank == root && root != 0) {
+            value = communicator.receive(root, 0, TAG_RELAY);
+        }
+        return value;
+    }
+
+    // Con rangos relativos a la raíz, v recibe de v - 2^k (su bit más bajo) y envía a v + 2^j para j < k
+    private double[] binomialBroadcast(int rank, int root, double[] data, int tag) throws InterruptedException {
+        int relative = (rank - root + size) % size;
+        double[] value = data;
+        int mask = 1;
+        while (mask < size) {
+            if ((relative & mask) != 0) {
+                value = communicator.receive(rank, (rank - mask + size) % size, tag);
+                break;
+            }
+            mask <<= 1;
+        }
+        for (mask >>= 1; mask > 0; mask >>= 1) {
+            if (relative + mask < size) {
+                communicator.send(rank, (rank + mask) % size, tag, value);
+            }
+        }
+        return value;
+    }
+
+    // Espejo del broadcast: cada rango combina lo de sus hijos y lo envía a su padre
+    private double[] binomialReduce(int rank, int root, double[] input, DoubleBinaryOperator op, int tag)
+            throws InterruptedException {
+        int relative = (rank - root + size) % size;
+        double[] value = input;
+        for (int mask = 1; mask < size; mask <<= 1) {
+            if ((relative & mask) != 0) {
+                communicator.send(rank, (rank - mask + size) % size, tag, value);
+                break;
+            }
+            if (relative + mask < size) {
+                value = combine(value, communicator.receive(rank, (rank + mask) % size, tag), op);
+            }
+        }
+        return value;
+    }
+
+    // log2 N rondas; en cada una se intercambia el vector completo con el vecino de esa dimensión.
+    // El de menor rango va primero al combinar, así todos terminan con exactamente el mismo resultado
+    private double[] recursiveDoubling(int rank, double[] input, DoubleBinaryOperator op) throws InterruptedException {
+        if (Integer.bitCount(size) != 1) {
+            throw new IllegalStateException("Recursive doubling requiere 2^d nodos.");
+        }
+        double[] value = input;
+        for (int mask = 1, round = 0; mask < size; mask <<= 1, round++) {
+            int partner = rank ^ mask;
+            communicator.send(rank, partner, TAG_ROUNDS + round, value);
+            double[] other = communicator.receive(rank, partner, TAG_ROUNDS + round);
+            value = rank < partner ? combine(value, other, op) : combine(other, value, op);
+        }
+        return value;
+    }
+
+    // El vector se divide en N tramos. Reduce-scatter: en N-1 pasos cada rango pasa un tramo al siguiente y
+    // acumula el que recibe del anterior; al final el rango r tiene completo el tramo r+1. All-gather: en N-1
+    // pasos más los tramos completos dan la vuelta. Cada rango envía 2(N-1)/N veces el vector, sin importar N
+    private double[] ringAllReduce(int rank, double[] input, DoubleBinaryOperator op) throws InterruptedException {
+        double[] value = input.clone();
+        int next = (rank + 1) % size;
+        int previous = (rank - 1 + size) % size;
+        for (int step = 0; step < size - 1; step++) {
+            int sendIndex = Math.floorMod(rank - step, size);
+            int receiveIndex = Math.floorMod(rank - step - 1, size);
+            communicator.send(rank, next, TAG_ROUNDS + step, chunk(value, sendIndex, size));
+            double[] received = communicator.receive(rank, previous, TAG_ROUNDS + step);
+            int from = start(value.length, receiveIndex, size);
+            for (int i = 0; i < received.length; i++) {
+                value[from + i] = op.applyAsDouble(value[from + i], received[i]);
+            }
+        }
+        for (int step = 0; step < size - 1; step++) {
+            int sendIndex = Math.floorMod(rank - step + 1, size);
+            int receiveIndex = Math.floorMod(rank - step, size);
+            int tag = TAG_ROUNDS + size + step;
+            communicator.send(rank, next, tag, chunk(value, sendIndex, size));
+            double[] received = communicator.receive(rank, previous, tag);
+            System.arraycopy(received, 0, value, start(value.length, receiveIndex, size), received.length);
+        }
+        return value;
+    }
+
+    private static double[] combine(double[] first, double[] second, DoubleBinaryOperator op) {
+        double[] result = new double[first.length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = op.applyAsDouble(first[i], second[i]);
+        }
+        return result;
+    }
+
+    private static double[] chunk(double[] data, int index, int parts) {
+        return Arrays.copyOfRange(data, start(data.length, index, parts), start(data.length, index + 1, parts));
+    }
+
+    private static int start(int length, int index, int parts) {
+        return (int) ((long) length * index / parts);
+    }
+}
@@ -0,0 +1,120 @@
+package edu.pucmm.collective;
+
+import edu.pucmm.core.Message;
+import edu.pucmm.core.Node;
+import edu.pucmm.topology.NetworkTopology;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+// Envío y recepción punto a punto entre nodos para las operaciones colectivas, al estilo MPI: cada nodo es un
+// rango (su id) que corre su parte del algoritmo en un hilo virtual propio. Los datos viajan como carga de un
+// Message por la topología (con sus rutas y sus hilos de nodo); en el destino se dejan en un buzón por
+// (etiqueta, origen) del que el rango los toma con receive.
+class Communicator {
+
+    private static final long RECEIVE_TIMEOUT_SECONDS = 30;
+    private static final String CONTENT = "colectiva";
+
+    private final NetworkTopology topology;
+    private final int size;
+    private final List<Map<Long, BlockingQueue<double[]>>> inboxes = new ArrayList<>();
+    private volatile long epoch; // Cada operación descarta lo que quedó de la anterior
+
+    Communicator(NetworkTopology topology) {
+        this.topology = topology;
+        this.size = topology.getNodes().size();
+        for (int i = 0; i < size; i++) {
+            inboxes.add(new ConcurrentHashMap<>());
+        }
+        for (Node node : topology.getNodes()) {
+            node.setDeliveryListener(this::onDelivery);
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    // La copia simula el mensaje: el que envía puede seguir modificando su arreglo
+    void send(int from, int to, int tag, double[] data) {
+        Packet packet = new Packet(epoch, tag, data.clone());
+        if (from == to) {
+            inbox(to, tag, from).add(packet.data);
+            return;
+        }
+        Message message = new Message(from, to, CONTENT, System.currentTimeMillis());
+        message.setPayload(packet);
+        topology.sendMessage(message);
+    }
+
+    double[] receive(int rank, int from, int tag) throws InterruptedException {
+        double[] data = inbox(rank, tag, from).poll(RECEIVE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        if (data == null) {
+            throw new IllegalStateException("Nodo " + rank + ": no llegó el mensaje " + tag + " de Nodo " + from);
+        }
+        return data;
+    }
+
+    // Corre task en todos los rangos a la vez y espera a que terminen; devuelve el tiempo total en ns
+    long run(RankTask task) throws InterruptedException {
+        epoch++;
+        for (Map<Long, BlockingQueue<double[]>> inbox : inboxes) {
+            inbox.clear();
+        }
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> ranks = new ArrayList<>();
+            for (int rank = 0; rank < size; rank++) {
+                int current = rank;
+                ranks.add(executor.submit(() -> {
+                    task.run(current);
+                    return null;
+                }));
+            }
+            for (Future<?> rank : ranks) {
+                try {
+                    rank.get();
+                } catch (ExecutionException e) {
+                    executor.shutdownNow();
+                    throw new IllegalStateException("Falló la operación colectiva", e.getCause());
+                }
+            }
+        }
+        return System.nanoTime() - start;
+    }
+
+    private void onDelivery(Node destination, Message message) {
+        if (message.getPayload() instanceof Packet packet) {
+            if (packet.epoch == epoch) {
+                inbox(destination.getId(), packet.tag, message.getSourceId()).add(packet.data);
+            }
+            return;
+        }
+        System.out.println("Nodo " + destination.getId() + " recibió mensaje de Nodo " + message.getSourceId()
+                + ": " + message.getContent());
+    }
+
+    private BlockingQueue<double[]> inbox(int rank, int tag, int from) {
+        long key = ((long) tag << 32) | from;
+        return inboxes.get(rank).computeIfAbsent(key, k -> new LinkedBlockingQueue<>());
+    }
+
+    // Parte del algoritmo que corre cada rango
+    @FunctionalInterface
+    interface RankTask {
+        void run(int rank) throws InterruptedException;
+    }
+
+    private record Packet(long epoch, int tag, double[] data) {
+    }
+}
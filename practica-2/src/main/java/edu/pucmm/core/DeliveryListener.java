@@ -0,0 +1,8 @@
+package edu.pucmm.core;
+
+// Lo llama el nodo destino al procesar un mensaje, en el hilo de ese nodo
+@FunctionalInterface
+public interface DeliveryListener {
+
+    void onDelivery(Node destination, Message message);
+}
@@ -0,0 +1,58 @@
+package edu.pucmm.core;
+
+import java.util.Collection;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+// Un grupo fijo de hilos corre los nodos por turnos. Un nodo se encola cuando su buzón pasa de vacío a
+// tener mensajes; un nodo sin mensajes no ocupa ningún hilo, así la cantidad de nodos no depende de los hilos.
+public class EventLoopScheduler implements NodeScheduler {
+
+    private static final int BATCH = 64; // Mensajes por turno antes de ceder el hilo a otro nodo
+
+    private final int workers;
+    private ExecutorService executor;
+
+    public EventLoopScheduler(int workers) {
+        this.workers = workers;
+    }
+
+    @Override
+    public void start(Collection<Node> nodes) {
+        executor = Executors.newFixedThreadPool(workers);
+        for (Node node : nodes) {
+            node.setScheduler(this);
+            if (node.hasPendingMessages()) {
+                wake(node); // Mensajes que llegaron antes de iniciar
+            }
+        }
+    }
+
+    @Override
+    public void wake(Node node) {
+        if (executor != null && node.tryMarkScheduled()) {
+            try {
+                executor.execute(() -> runNode(node));
+            } catch (RejectedExecutionException e) {
+                // La simulación ya se detuvo
+            }
+        }
+    }
+
+    private void runNode(Node node) {
+        node.processPending(BATCH);
+        node.clearScheduled();
+        // Un mensaje que llegó mientras el nodo estaba marcado no lo volvió a encolar: revisar aquí
+        if (node.hasPendingMessages()) {
+            wake(node);
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+}
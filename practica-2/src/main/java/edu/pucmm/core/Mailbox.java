@@ -0,0 +1,104 @@
+package edu.pucmm.core;
+
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Buzón de un nodo: cola FIFO sin límite sobre arreglos circulares, con el TTL de cada copia al lado del mensaje.
+// Varias copias de un mismo Message (inundación) comparten el objeto y solo difieren en el TTL, así reenviar
+// no crea objetos: un put escribe dos casillas y los arreglos solo crecen cuando se llenan.
+// Usa ReentrantLock y no synchronized: un hilo virtual que espera en un monitor bloquea su hilo portador.
+final class Mailbox {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+
+    private Message[] messages = new Message[16];
+    private int[] ttls = new int[16];
+    private int head;
+    private int size;
+
+    private int lastTtl; // TTL del último mensaje extraído; solo lo lee el consumidor
+
+    void put(Message message, int ttl) {
+        lock.lock();
+        try {
+            if (size == messages.length) {
+                grow();
+            }
+            int tail = (head + size) & (messages.length - 1);
+            messages[tail] = message;
+            ttls[tail] = ttl;
+            if (size++ == 0) {
+                notEmpty.signal(); // Un solo consumidor por nodo
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    Message take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (size == 0) {
+                notEmpty.await();
+            }
+            return remove();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // null si está vacío
+    Message poll() {
+        lock.lock();
+        try {
+            return size == 0 ? null : remove();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int lastTtl() {
+        return lastTtl;
+    }
+
+    boolean isEmpty() {
+        lock.lock();
+        try {
+            return size == 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Message remove() {
+        Message message = messages[head];
+        lastTtl = ttls[head];
+        messages[head] = null;
+        head = (head + 1) & (messages.length - 1);
+        size--;
+        return message;
+    }
+
+    private void grow() {
+        Message[] grownMessages = new Message[messages.length * 2];
+        int[] grownTtls = new int[ttls.length * 2];
+        for (int i = 0; i < size; i++) {
+            int index = (head + i) & (messages.length - 1);
+            grownMessages[i] = messages[index];
+            grownTtls[i] = ttls[index];
+        }
+        messages = grownMessages;
+        ttls = grownTtls;
+        head = 0;
+    }
+}
@@ -1,14 +1,21 @@
 package edu.pucmm.core;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class Message {
     private int sourceId;
     private int destinationId;
     private String content;
     private long timestamp;
-    private final Set<Integer> visited = new HashSet<>();
+    public static final int DEFAULT_TTL = 65535; // Cota de saltos; mayor que el diámetro de las redes simuladas
+
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    private final long sequence = SEQUENCE.getAndIncrement(); // Junto con el origen identifica el mensaje
+    private final long createdNanos = System.nanoTime(); // Para medir latencia; timestamp es la hora en ms
+    private int ttl = DEFAULT_TTL;
+    private volatile int hops = -1; // Enlaces recorridos hasta el destino; -1 mientras no llega
+    private Object payload; // Datos además del texto (operaciones colectivas); se asigna antes de enviar
 
     public Message(int sourceId, int destinationId, String content, long timestamp) {
         this.sourceId = sourceId;
@@ -17,12 +24,38 @@ public class Message {
         this.timestamp = timestamp;
     }
 
-    public boolean hasVisited(int nodeId) {
-        return visited.contains(nodeId);
+    public long getSequence() {
+        return sequence;
+    }
+
+    public Object getPayload() {
+        return payload;
+    }
+
+    public void setPayload(Object payload) {
+        this.payload = payload;
+    }
+
+    public long getCreatedNanos() {
+        return createdNanos;
+    }
+
+    // Saltos permitidos desde el origen; se asigna antes de enviar el mensaje
+    public int getTtl() {
+        return ttl;
+    }
+
+    public void setTtl(int ttl) {
+        this.ttl = ttl;
+    }
+
+    public int getHops() {
+        return hops;
     }
 
-    public void markVisited(int nodeId) {
-        visited.add(nodeId);
+    // Lo asigna el destino al procesar el mensaje, una sola vez gracias a su caché de vistos
+    void setHops(int hops) {
+        this.hops = hops;
     }
 
     public int getSourceId() {
@@ -1,5 +1,6 @@
 package edu.pucmm.core;
 
+import edu.pucmm.metrics.NetworkMetrics;
 import edu.pucmm.topology.*;
 
 import java.util.HashMap;
@@ -8,10 +9,34 @@ import java.util.Map;
 public class NetworkManager {
 
     private NetworkTopology topology;
+    private NodeScheduler scheduler = NodeScheduler.create("platform");
+    private boolean routing = true;
+    private String topologyName;
+    private NetworkMetrics metrics;
     private static Map<Integer, Node> nodes = new HashMap<>();
 
+    // Además de las de siempre: mesh2d, mesh3d, torus2d y torus3d reparten los nodos en dimensiones parejas;
+    // mesh:AxB[xC] y torus:AxB[xC] fijan las dimensiones (su producto debe ser numberOfNodes)
     public void setupTopology(String type, int numberOfNodes) {
-        switch (type.toLowerCase()) {
+        String name = type.toLowerCase();
+        int separator = name.indexOf(':');
+        if (separator > 0) {
+            String kind = name.substring(0, separator);
+            if (!kind.equals("mesh") && !kind.equals("torus")) {
+                System.out.println("Topología no reconocida: " + type);
+                return;
+            }
+            String[] sizes = name.substring(separator + 1).split("x");
+            int[] dimensions = new int[sizes.length];
+            for (int i = 0; i < sizes.length; i++) {
+                dimensions[i] = Integer.parseInt(sizes[i].trim());
+            }
+            topology = new GridNetwork(dimensions, kind.equals("torus"));
+            name = "grid";
+        }
+        switch (name) {
+            case "grid":
+                break; // Ya configurada con sus dimensiones
             case "bus":
                 topology = new BusNetwork();
                 break;
@@ -37,14 +62,87 @@ public class NetworkManager {
             case "switched":
                 topology = new SwitchedNetwork();
                 break;
+            case "mesh2d":
+            case "torus2d":
+                topology = new GridNetwork(2, name.startsWith("torus"));
+                break;
+            case "mesh3d":
+            case "torus3d":
+                topology = new GridNetwork(3, name.startsWith("torus"));
+                break;
             default:
                 System.out.println("Topología no reconocida: " + type);
                 return;
         }
 
+        topologyName = type.toLowerCase().replace(':', '-'); // ':' no puede ir en un ObjectName de JMX
+        if (metrics != null) {
+            metrics.unregisterMBeans(); // Si no, JMX retiene los nodos de la topología anterior
+        }
+        metrics = null;
+        topology.setScheduler(scheduler);
+        topology.setRouting(routing);
         topology.configureNetwork(numberOfNodes);
     }
 
+    // platform, virtual o eventloop; se aplica a las topologías configuradas después
+    public void setScheduler(String type) {
+        scheduler = NodeScheduler.create(type);
+    }
+
+    // routing (un solo camino) o flooding (inundación); se aplica a las topologías configuradas después
+    public void setDelivery(String mode) {
+        switch (mode.toLowerCase()) {
+            case "routing":
+                routing = true;
+                break;
+            case "flooding":
+                routing = false;
+                break;
+            default:
+                throw new IllegalArgumentException("Modo de envío no reconocido: " + mode);
+        }
+    }
+
+    // Reemplaza la impresión de cada entrega en los nodos de la topología actual
+    public void setDeliveryListener(DeliveryListener listener) {
+        if (topology != null) {
+            for (Node node : topology.getNodes()) {
+                node.setDeliveryListener(listener);
+            }
+        }
+    }
+
+    // Activa las métricas de la topología actual y las registra en JMX (dominio edu.pucmm)
+    public NetworkMetrics enableMetrics() {
+        if (topology == null) {
+            return null;
+        }
+        if (metrics == null) {
+            metrics = new NetworkMetrics(topologyName, topology.enableMetrics());
+            metrics.registerMBeans();
+        }
+        return metrics;
+    }
+
+    public NetworkMetrics getMetrics() {
+        return metrics;
+    }
+
+    public NetworkTopology getTopology() {
+        return topology;
+    }
+
+    // Las métricas se siguen pudiendo leer con getMetrics, pero ya no quedan registradas en JMX
+    public void stopSimulation() {
+        if (topology != null) {
+            topology.stopSimulation();
+        }
+        if (metrics != null) {
+            metrics.unregisterMBeans();
+        }
+    }
+
     public void startSimulation() {
         if (topology != null) {
             topology.startSimulation();
@@ -63,6 +161,18 @@ public class NetworkManager {
         }
     }
 
+    // Los nodos más cargados y los enlaces más usados, si las métricas están activas
+    public void showHotspots(int count) {
+        if (metrics == null) {
+            return;
+        }
+        System.out.println("Nodos más cargados:");
+        metrics.hotspots(count).forEach(node -> System.out.println("  " + node));
+        System.out.println("Enlaces más usados:");
+        metrics.linkHotspots(count).forEach(link ->
+                System.out.println("  " + link.fromId() + " -> " + link.toId() + ": " + link.messages()));
+    }
+
     public static void registerNode(Node node) {
         nodes.put(node.getId(), node);
     }
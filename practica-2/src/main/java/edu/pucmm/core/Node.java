@@ -1,17 +1,37 @@
 package edu.pucmm.core;
 
+import edu.pucmm.metrics.NodeMetrics;
+import edu.pucmm.routing.Router;
+
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public class Node implements Runnable {
 
     private final int id;
-    private final BlockingQueue<Message> messageQueue;
+    private final Mailbox messageQueue;
+
+    // Mensajes ya procesados al inundar (crece hasta SEEN_CAPACITY); solo lo toca el hilo que procesa el nodo
+    private static final int SEEN_CAPACITY = 1 << 16;
+    private final SeenCache seen = new SeenCache(SEEN_CAPACITY);
+
+    // Solo en modo event loop: el planificador corre el nodo cuando su buzón deja de estar vacío
+    private volatile NodeScheduler scheduler;
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    // Con router el mensaje sigue un solo camino; sin router se inunda a todos los enlaces
+    private volatile Router router;
+
+    // Con listener el nodo no imprime: el listener decide qué hacer con cada entrega
+    private volatile DeliveryListener deliveryListener;
+
+    // null hasta enableMetrics: sin métricas el nodo no mide nada
+    private volatile NodeMetrics metrics;
 
     // Ring
     private Node neighbor;
+    private Node previous; // Solo para rutas en sentido contrario; la inundación sigue yendo al siguiente
 
     // Tree
     private Node parent;
@@ -22,7 +42,7 @@ public class Node implements Runnable {
 
     public Node(int id) {
         this.id = id;
-        this.messageQueue = new LinkedBlockingQueue<>();
+        this.messageQueue = new Mailbox();
     }
 
     public int getId() {
@@ -31,11 +51,37 @@ public class Node implements Runnable {
 
     public void receiveMessage(Message message) {
         // Simula que todos reciben, pero solo el destinatario procesa
-        try {
-            messageQueue.put(message);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+        receiveMessage(message, message.getTtl());
+    }
+
+    // Una copia del mensaje a la que le quedan ttl saltos
+    private void receiveMessage(Message message, int ttl) {
+        messageQueue.put(message, ttl);
+        NodeMetrics nodeMetrics = metrics;
+        if (nodeMetrics != null) {
+            nodeMetrics.onReceived();
         }
+        NodeScheduler current = scheduler;
+        if (current != null) {
+            current.wake(this);
+        }
+    }
+
+    void setScheduler(NodeScheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    // Marca el nodo como encolado en el planificador; false si ya lo estaba
+    boolean tryMarkScheduled() {
+        return scheduled.compareAndSet(false, true);
+    }
+
+    void clearScheduled() {
+        scheduled.set(false);
+    }
+
+    boolean hasPendingMessages() {
+        return !messageQueue.isEmpty();
     }
 
     // Ring
@@ -47,6 +93,14 @@ public class Node implements Runnable {
         return neighbor;
     }
 
+    public void setPrevious(Node previous) {
+        this.previous = previous;
+    }
+
+    public Node getPrevious() {
+        return previous;
+    }
+
     // Tree
     public void setParent(Node parent) {
         this.parent = parent;
@@ -72,6 +126,48 @@ public class Node implements Runnable {
     public List<Node> getNeighbors() {
         return neighbors;
     }
+    public void setDeliveryListener(DeliveryListener deliveryListener) {
+        this.deliveryListener = deliveryListener;
+    }
+
+    public void setRouter(Router router) {
+        this.router = router;
+    }
+
+    public Router getRouter() {
+        return router;
+    }
+
+    // Empieza a contar mensajes y tiempos de este nodo; devuelve las métricas ya activas si se llama de nuevo
+    public synchronized NodeMetrics enableMetrics() {
+        if (metrics == null) {
+            int[] linkIds = getLinks().stream().mapToInt(Node::getId).toArray();
+            metrics = new NodeMetrics(id, "Nodo " + id, messageQueue::size, linkIds);
+        }
+        return metrics;
+    }
+
+    public NodeMetrics getMetrics() {
+        return metrics;
+    }
+
+    // Todos los nodos con los que este tiene enlace directo, sin importar la topología
+    public List<Node> getLinks() {
+        List<Node> links = new ArrayList<>();
+        if (neighbor != null) {
+            links.add(neighbor);
+        }
+        if (previous != null && previous != neighbor) {
+            links.add(previous);
+        }
+        if (parent != null) {
+            links.add(parent);
+        }
+        links.addAll(children);
+        links.addAll(neighbors);
+        return links;
+    }
+
     public List<Integer> getNeighborIds() {
         List<Integer> ids = new ArrayList<>();
         for (Node neighbor : neighbors) {
@@ -86,52 +182,144 @@ public class Node implements Runnable {
         while (!Thread.currentThread().isInterrupted()) {
             try {
                 Message message = messageQueue.take();
-                if (message.hasVisited(id)) {
-                    continue; // Ya procesamos este mensaje
+                process(message, messageQueue.lastTtl());
+            } catch (InterruptedException e) {
+                if (deliveryListener == null) {
+                    System.out.println("Nodo " + id + " detenido.");
                 }
-                message.markVisited(id);
-
-                if (message.getDestinationId() == id) {
-                    System.out.println("Nodo " + id + " recibió mensaje de Nodo " + message.getSourceId()
-                            + ": " + message.getContent());
-                } else {
-                    // Ring
-                    if (neighbor != null) {
-                        neighbor.receiveMessage(message);
-                    }
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+    }
 
-                    // Tree
-                    if (parent != null) {
-                        parent.receiveMessage(message);
-                    }
-                    for (Node child : children) {
-                        child.receiveMessage(message);
-                    }
+    /**
+     * Procesa sin bloquear hasta {@code maxMessages} mensajes del buzón (modo event loop).
+     *
+     * @return cantidad de mensajes procesados
+     */
+    public int processPending(int maxMessages) {
+        int processed = 0;
+        Message message;
+        while (processed < maxMessages && (message = messageQueue.poll()) != null) {
+            process(message, messageQueue.lastTtl());
+            processed++;
+        }
+        return processed;
+    }
+
+    private void process(Message message, int ttl) {
+        NodeMetrics current = metrics;
+        if (current == null) {
+            handleMessage(message, ttl);
+            return;
+        }
+        long start = System.nanoTime();
+        handleMessage(message, ttl);
+        current.recordProcessing(System.nanoTime() - start);
+    }
 
-                    // Fully Connected
-                    for (Node neighbor : neighbors) {
-                        neighbor.receiveMessage(message);
+    private void handleMessage(Message message, int ttl) {
+        Router current = router;
+        // Un solo camino no tiene ciclos; al inundar, cada nodo procesa cada mensaje una sola vez
+        if (current == null) {
+            int state = seen.add(message.getSourceId(), message.getSequence());
+            if (state != SeenCache.NEW) {
+                if (state == SeenCache.FORGOTTEN) {
+                    NodeMetrics nodeMetrics = metrics;
+                    if (nodeMetrics != null) {
+                        nodeMetrics.onForcedDrop(); // Con la caché llena pudo ser la primera copia
                     }
                 }
+                dropped();
+                return; // Ya procesamos este mensaje
+            }
+        }
 
-            } catch (InterruptedException e) {
-                System.out.println("Nodo " + id + " detenido.");
-                Thread.currentThread().interrupt();
-                break;
+        if (message.getDestinationId() == id) {
+            message.setHops(message.getTtl() - ttl);
+            NodeMetrics nodeMetrics = metrics;
+            if (nodeMetrics != null) {
+                nodeMetrics.onDelivered();
+            }
+            DeliveryListener listener = deliveryListener;
+            if (listener != null) {
+                listener.onDelivery(this, message);
+            } else {
+                System.out.println("Nodo " + id + " recibió mensaje de Nodo " + message.getSourceId()
+                        + ": " + message.getContent());
             }
+            return;
+        }
+        if (ttl <= 0) {
+            dropped();
+            return; // Se agotaron los saltos
+        }
+        // Las copias comparten el Message; el TTL viaja en el buzón, así reenviar no crea objetos
+        int nextTtl = ttl - 1;
+
+        if (current != null) {
+            Node next = current.nextHop(id, message.getDestinationId());
+            if (next == null) {
+                log("Nodo " + id + ": no hay ruta hacia Nodo " + message.getDestinationId());
+                dropped();
+                return;
+            }
+            forward(next, message, nextTtl);
+            return;
+        }
+
+        // Ring
+        if (neighbor != null) {
+            forward(neighbor, message, nextTtl);
+        }
+
+        // Tree
+        if (parent != null) {
+            forward(parent, message, nextTtl);
+        }
+        for (int i = 0; i < children.size(); i++) {
+            forward(children.get(i), message, nextTtl);
+        }
+
+        // Fully Connected
+        for (int i = 0; i < neighbors.size(); i++) { // Con índice: sin iterador por mensaje
+            forward(neighbors.get(i), message, nextTtl);
+        }
+    }
+
+    private void forward(Node next, Message message, int ttl) {
+        NodeMetrics current = metrics;
+        if (current != null) {
+            current.onForwarded(next.id);
+        }
+        next.receiveMessage(message, ttl);
+    }
+
+    // Diagnóstico en consola; con listener el nodo no imprime (la salida estándar puede ser del benchmark)
+    private void log(String text) {
+        if (deliveryListener == null) {
+            System.out.println(text);
+        }
+    }
+
+    private void dropped() {
+        NodeMetrics current = metrics;
+        if (current != null) {
+            current.onDropped();
         }
     }
 
     public void sendMessage(Message msg) {
         for (Node neighbor : neighbors) {
             if (neighbor.getId() == msg.getDestinationId()) {
-                neighbor.receiveMessage(msg);
-                System.out.println("Nodo " + id + " reenvió mensaje a Nodo " + neighbor.getId());
+                forward(neighbor, msg, msg.getTtl() - 1);
+                log("Nodo " + id + " reenvió mensaje a Nodo " + neighbor.getId());
                 return;
             }
         }
 
-        System.out.println("Nodo " + id + ": no se pudo enviar mensaje, destino " + msg.getDestinationId() + " no está entre vecinos.");
+        log("Nodo " + id + ": no se pudo enviar mensaje, destino " + msg.getDestinationId() + " no está entre vecinos.");
     }
 
 }
@@ -0,0 +1,34 @@
+package edu.pucmm.core;
+
+import java.util.Collection;
+
+// Decide en qué hilos corren los nodos de una topología
+public interface NodeScheduler {
+
+    // Empieza a procesar los buzones de los nodos
+    void start(Collection<Node> nodes);
+
+    // Lo llama un nodo al recibir un mensaje; solo lo usan los planificadores que no bloquean en take()
+    default void wake(Node node) {
+    }
+
+    // Detiene los hilos de los nodos
+    void shutdown();
+
+    // platform: un hilo del sistema por nodo (comportamiento original)
+    // virtual: un hilo virtual por nodo
+    // eventloop: tantos hilos como núcleos, que corren un nodo solo cuando tiene mensajes
+    static NodeScheduler create(String type) {
+        switch (type.toLowerCase()) {
+            case "platform":
+                return new ThreadPerNodeScheduler(false);
+            case "virtual":
+                return new ThreadPerNodeScheduler(true);
+            case "eventloop":
+            case "event-loop":
+                return new EventLoopScheduler(Runtime.getRuntime().availableProcessors());
+            default:
+                throw new IllegalArgumentException("Planificador no reconocido: " + type);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package edu.pucmm.core;
+
+import java.util.Arrays;
+
+// Mensajes que un nodo ya procesó, identificados por (origen, secuencia), en arreglos primitivos con
+// direccionamiento abierto: cada clave se busca en PROBES casillas consecutivas. Empieza chica (un nodo que
+// nunca inunda casi no ocupa memoria) y se duplica cuando no hay lugar, hasta maxCapacity. Llena, reemplaza la
+// casilla de secuencia más vieja y esa secuencia pasa a ser el piso de su origen: lo de ese origen con una
+// secuencia menor o igual ya no se puede distinguir y se da por visto (add devuelve FORGOTTEN, para contarlo
+// aparte de los duplicados). Los demás orígenes no se ven afectados. Así un mensaje nunca se procesa dos veces;
+// a lo sumo se descarta un mensaje más viejo que uno ya olvidado del mismo origen. Solo lo usa el nodo dueño,
+// que procesa de a un mensaje.
+final class SeenCache {
+
+    static final int NEW = 0;
+    static final int SEEN = 1;
+    static final int FORGOTTEN = 2; // Más viejo que el piso de su origen: puede ser la primera copia
+
+    private static final int PROBES = 8;
+    private static final int INITIAL_CAPACITY = 16;
+    private static final long EMPTY = -1; // Las secuencias empiezan en 0
+
+    private final int maxCapacity;
+    private int[] sources;
+    private long[] sequences;
+    private long[] floors = new long[0]; // Por id de origen: secuencia más alta que se olvidó
+
+    SeenCache(int maxCapacity) {
+        this.maxCapacity = Math.max(INITIAL_CAPACITY, Integer.highestOneBit(maxCapacity));
+        allocate(INITIAL_CAPACITY);
+    }
+
+    // Registra el mensaje: NEW si no estaba, SEEN si ya estaba, FORGOTTEN si es más viejo que el piso de su origen
+    int add(int source, long sequence) {
+        if (source < floors.length && sequence <= floors[source]) {
+            return FORGOTTEN;
+        }
+        while (true) {
+            int mask = sequences.length - 1;
+            int start = hash(source, sequence) & mask;
+            int victim = start;
+            for (int i = 0; i < PROBES; i++) {
+                int slot = (start + i) & mask;
+                long stored = sequences[slot];
+                if (stored == sequence && sources[slot] == source) {
+                    return SEEN;
+                }
+                if (stored < sequences[victim]) {
+                    victim = slot; // Una casilla vacía (EMPTY) siempre es la menor
+                }
+            }
+            if (sequences[victim] != EMPTY) {
+                if (sequences.length < maxCapacity) {
+                    grow();
+                    continue;
+                }
+                forget(sources[victim], sequences[victim]);
+            }
+            sources[victim] = source;
+            sequences[victim] = sequence;
+            return NEW;
+        }
+    }
+
+    private void forget(int source, long sequence) {
+        if (source >= floors.length) {
+            int length = floors.length;
+            floors = Arrays.copyOf(floors, Math.max(source + 1, length * 2));
+            Arrays.fill(floors, length, floors.length, EMPTY);
+        }
+        floors[source] = Math.max(floors[source], sequence);
+    }
+
+    // Duplica hasta que todas las claves entran en su ventana, sin pasar de maxCapacity. Debajo del tope nunca
+    // descarta nada; si hace falta llegar al tope, ahí desaloja como add con la tabla llena
+    private void grow() {
+        int[] oldSources = sources;
+        long[] oldSequences = sequences;
+        int capacity = oldSequences.length * 2;
+        while (capacity < maxCapacity && !rehash(oldSources, oldSequences, capacity, false)) {
+            capacity *= 2;
+        }
+        if (capacity == maxCapacity) {
+            rehash(oldSources, oldSequences, capacity, true);
+        }
+    }
+
+    // Con evict una clave que no tiene lugar desaloja a la más vieja de su ventana; sin evict, devuelve false
+    private boolean rehash(int[] oldSources, long[] oldSequences, int capacity, boolean evict) {
+        allocate(capacity);
+        int mask = capacity - 1;
+        for (int i = 0; i < oldSequences.length; i++) {
+            if (oldSequences[i] == EMPTY) {
+                continue;
+            }
+            int start = hash(oldSources[i], oldSequences[i]) & mask;
+            int slot = start;
+            for (int p = 0; p < PROBES && sequences[slot] != EMPTY; p++) {
+                int candidate = (start + p) & mask;
+                if (sequences[candidate] < sequences[slot]) {
+                    slot = candidate;
+                }
+            }
+            if (sequences[slot] != EMPTY) {
+                if (!evict) {
+                    return false; // Ventana llena: probar con el doble
+                }
+                if (sequences[slot] > oldSequences[i]) {
+                    forget(oldSources[i], oldSequences[i]); // La que entra es la más vieja: se olvida ella
+                    continue;
+                }
+                forget(sources[slot], sequences[slot]);
+            }
+            sources[slot] = oldSources[i];
+            sequences[slot] = oldSequences[i];
+        }
+        return true;
+    }
+
+    private void allocate(int capacity) {
+        sources = new int[capacity];
+        sequences = new long[capacity];
+        Arrays.fill(sequences, EMPTY);
+    }
+
+    private static int hash(int source, long sequence) {
+        long h = (sequence ^ ((long) source << 32)) * 0x9E3779B97F4A7C15L;
+        return (int) (h >>> 32);
+    }
+}
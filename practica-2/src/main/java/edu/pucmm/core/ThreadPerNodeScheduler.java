@@ -0,0 +1,34 @@
+package edu.pucmm.core;
+
+import java.util.Collection;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Cada nodo corre su ciclo run() en su propio hilo, bloqueado en take() mientras no tiene mensajes.
+// Con hilos virtuales un nodo bloqueado no ocupa un hilo del sistema, así caben cientos de miles de nodos.
+public class ThreadPerNodeScheduler implements NodeScheduler {
+
+    private final boolean virtual;
+    private ExecutorService executor;
+
+    public ThreadPerNodeScheduler(boolean virtual) {
+        this.virtual = virtual;
+    }
+
+    @Override
+    public void start(Collection<Node> nodes) {
+        executor = virtual
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(Math.max(1, nodes.size()));
+        for (Node node : nodes) {
+            executor.execute(node);
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package edu.pucmm.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// Histograma log-lineal sin locks: cada potencia de 2 se divide en 2^subBits cubetas, así el error relativo
+// de un percentil es menor a 1/2^subBits (con 5 bits, ~3 %). Varios hilos registran a la vez con un
+// incremento atómico; los percentiles se leen mientras tanto sin detener a nadie.
+// Con maxBits los valores desde 2^maxBits caen en la última cubeta (el máximo sigue siendo exacto): así un
+// histograma por nodo ocupa unos pocos KB y no ~15 KB.
+public class LatencyHistogram {
+
+    private final int subBits;
+    private final int subBuckets;
+    private final long maxTracked;
+    private final AtomicLongArray buckets;
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    public LatencyHistogram() {
+        this(5);
+    }
+
+    public LatencyHistogram(int subBits) {
+        this(subBits, 63);
+    }
+
+    public LatencyHistogram(int subBits, int maxBits) {
+        this.subBits = subBits;
+        this.subBuckets = 1 << subBits;
+        this.maxTracked = maxBits >= 63 ? Long.MAX_VALUE : (1L << maxBits) - 1;
+        this.buckets = new AtomicLongArray((maxBits + 1 - subBits) * subBuckets);
+    }
+
+    // Valores negativos cuentan como 0
+    public void record(long value) {
+        long v = Math.max(0, value);
+        buckets.incrementAndGet(index(Math.min(v, maxTracked)));
+        sum.add(v);
+        long current;
+        while (v > (current = max.get()) && !max.compareAndSet(current, v)) {
+            // Otro hilo subió el máximo: volver a comparar
+        }
+    }
+
+    public long getCount() {
+        long count = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            count += buckets.get(i);
+        }
+        return count;
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    public long getSum() {
+        return sum.sum();
+    }
+
+    public double getMean() {
+        long count = getCount();
+        return count == 0 ? 0 : (double) sum.sum() / count;
+    }
+
+    // Límite superior de la cubeta del percentil (0-100), sin pasar del máximo registrado; 0 si está vacío
+    public long percentile(double percentile) {
+        long[] counts = new long[buckets.length()];
+        long total = 0;
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = buckets.get(i);
+            total += counts[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(upperBound(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    private int index(long value) {
+        if (value < 2L * subBuckets) {
+            return (int) value; // Exacto para valores chicos
+        }
+        int shift = 64 - Long.numberOfLeadingZeros(value) - subBits - 1;
+        return shift * subBuckets + (int) (value >>> shift);
+    }
+
+    private long upperBound(int index) {
+        if (index < 2 * subBuckets) {
+            return index;
+        }
+        int shift = index / subBuckets - 1;
+        long top = index % subBuckets + subBuckets;
+        return ((top + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,5 @@
+package edu.pucmm.metrics;
+
+// Mensajes que pasaron por el enlace dirigido fromId -> toId
+public record LinkSnapshot(int fromId, int toId, long messages) {
+}
@@ -0,0 +1,164 @@
+package edu.pucmm.metrics;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+// Métricas de todos los nodos de una topología: snapshot, ranking de puntos calientes y registro en JMX.
+// Un nodo es más caliente cuanto más tiempo pasó procesando mensajes; a igual tiempo, cuanto más larga su
+// cola. Así el nodo central de la estrella o el switch aparecen primero cuando son el cuello de botella.
+public class NetworkMetrics implements NetworkMetricsMBean {
+
+    private static final String DOMAIN = "edu.pucmm";
+    private static final int HOTSPOTS = 10; // Cuántos muestran los atributos JMX
+    // Sobre este tamaño solo se registra la red en JMX: miles de MBeans de nodo no se pueden recorrer en JConsole
+    public static final int MAX_NODE_MBEANS = 1024;
+
+    private static final Comparator<NodeSnapshot> HOTTEST = Comparator.comparingLong(NodeSnapshot::busyNanos)
+            .thenComparingInt(NodeSnapshot::queueDepth)
+            .thenComparingLong(NodeSnapshot::received)
+            .reversed();
+
+    private final String topology;
+    private final List<NodeMetrics> nodes;
+    private final List<ObjectName> registered = new ArrayList<>();
+
+    public NetworkMetrics(String topology, List<NodeMetrics> nodes) {
+        this.topology = topology;
+        this.nodes = List.copyOf(nodes);
+    }
+
+    public List<NodeSnapshot> snapshot() {
+        List<NodeSnapshot> snapshots = new ArrayList<>(nodes.size());
+        for (NodeMetrics node : nodes) {
+            snapshots.add(node.snapshot());
+        }
+        return snapshots;
+    }
+
+    // Los count nodos más cargados, de mayor a menor
+    public List<NodeSnapshot> hotspots(int count) {
+        List<NodeSnapshot> snapshots = snapshot();
+        snapshots.sort(HOTTEST);
+        return snapshots.subList(0, Math.min(count, snapshots.size()));
+    }
+
+    // Los count enlaces con más mensajes, de mayor a menor
+    public List<LinkSnapshot> linkHotspots(int count) {
+        List<LinkSnapshot> links = new ArrayList<>();
+        for (NodeMetrics node : nodes) {
+            for (Map.Entry<Integer, Long> link : node.getLinkCounts().entrySet()) {
+                links.add(new LinkSnapshot(node.getId(), link.getKey(), link.getValue()));
+            }
+        }
+        links.sort(Comparator.comparingLong(LinkSnapshot::messages).reversed());
+        return links.subList(0, Math.min(count, links.size()));
+    }
+
+    // Registra la red y, si no son demasiados, cada nodo en el MBeanServer de la plataforma
+    public void registerMBeans() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            register(server, this, new ObjectName(DOMAIN + ":type=Network,topology=" + topology));
+            if (nodes.size() <= MAX_NODE_MBEANS) {
+                for (NodeMetrics node : nodes) {
+                    register(server, node, new ObjectName(DOMAIN + ":type=Node,topology=" + topology
+                            + ",name=" + ObjectName.quote(node.getName())));
+                }
+            }
+        } catch (JMException e) {
+            throw new IllegalStateException("No se pudieron registrar las métricas en JMX: " + e.getMessage(), e);
+        }
+    }
+
+    public void unregisterMBeans() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        for (ObjectName name : registered) {
+            try {
+                server.unregisterMBean(name);
+            } catch (JMException e) {
+                // Ya no estaba registrado
+            }
+        }
+        registered.clear();
+    }
+
+    @Override
+    public int getNodeCount() {
+        return nodes.size();
+    }
+
+    @Override
+    public long getReceived() {
+        long total = 0;
+        for (NodeMetrics node : nodes) {
+            total += node.getReceived();
+        }
+        return total;
+    }
+
+    @Override
+    public long getDelivered() {
+        long total = 0;
+        for (NodeMetrics node : nodes) {
+            total += node.getDelivered();
+        }
+        return total;
+    }
+
+    @Override
+    public long getDropped() {
+        long total = 0;
+        for (NodeMetrics node : nodes) {
+            total += node.getDropped();
+        }
+        return total;
+    }
+
+    @Override
+    public long getForcedDrops() {
+        long total = 0;
+        for (NodeMetrics node : nodes) {
+            total += node.getForcedDrops();
+        }
+        return total;
+    }
+
+    @Override
+    public int getQueuedMessages() {
+        int total = 0;
+        for (NodeMetrics node : nodes) {
+            total += node.getQueueDepth();
+        }
+        return total;
+    }
+
+    @Override
+    public String[] getHotspots() {
+        return hotspots(HOTSPOTS).stream().map(NodeSnapshot::toString).toArray(String[]::new);
+    }
+
+    @Override
+    public String[] getLinkHotspots() {
+        return linkHotspots(HOTSPOTS).stream()
+                .map(link -> link.fromId() + " -> " + link.toId() + ": " + link.messages())
+                .toArray(String[]::new);
+    }
+
+    // Una topología configurada de nuevo con el mismo nombre reemplaza a la anterior
+    private void register(MBeanServer server, Object bean, ObjectName name) throws JMException {
+        try {
+            server.registerMBean(bean, name);
+        } catch (InstanceAlreadyExistsException e) {
+            server.unregisterMBean(name);
+            server.registerMBean(bean, name);
+        }
+        registered.add(name);
+    }
+}
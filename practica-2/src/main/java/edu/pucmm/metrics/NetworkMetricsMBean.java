@@ -0,0 +1,23 @@
+package edu.pucmm.metrics;
+
+// Vista JMX de la red completa
+public interface NetworkMetricsMBean {
+
+    int getNodeCount();
+
+    long getReceived();
+
+    long getDelivered();
+
+    long getDropped();
+
+    long getForcedDrops();
+
+    int getQueuedMessages();
+
+    // Los nodos más cargados, de mayor a menor
+    String[] getHotspots();
+
+    // Los enlaces con más mensajes, de mayor a menor
+    String[] getLinkHotspots();
+}
@@ -0,0 +1,192 @@
+package edu.pucmm.metrics;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+// Contadores de un nodo de la red, o de un componente como el switch. Los actualizan los hilos que procesan
+// y entregan mensajes sin tomar locks (LongAdder e histograma atómico); las lecturas no los detienen.
+// Los enlaces se cuentan por id del vecino, así sirven igual para enlaces fijos y para rutas de un salto.
+// Los enlaces fijos tienen su contador en un arreglo armado al activar las métricas; los destinos sin enlace
+// fijo (bus, switch) van a bloques por id que se crean al primer uso. Ninguno de los dos reserva memoria por
+// mensaje.
+public class NodeMetrics implements NodeMetricsMBean {
+
+    private static final int BLOCK_BITS = 6; // Bloques de 64 ids para los destinos sin enlace fijo
+
+    private final int id;
+    private final String name;
+    private final IntSupplier queueDepth;
+
+    private final LongAdder received = new LongAdder();
+    private final LongAdder forwarded = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder dropped = new LongAdder(); // Duplicados al inundar, TTL agotado o sin ruta
+    private final LongAdder forcedDrops = new LongAdder(); // Parte de dropped: olvidados por la caché de vistos llena
+    private final LatencyHistogram processing = new LatencyHistogram(3, 36); // ~12 % de error, hasta ~68 s
+    private final int[] linkIds; // Ordenados, para búsqueda binaria
+    private final LongAdder[] linkCounts;
+    private volatile LongAdder[][] routedCounts = new LongAdder[0][]; // Por id: routedCounts[id >> 6][id & 63]
+
+    public NodeMetrics(int id, String name, IntSupplier queueDepth) {
+        this(id, name, queueDepth, new int[0]);
+    }
+
+    // linkIds: ids de los vecinos con enlace fijo
+    public NodeMetrics(int id, String name, IntSupplier queueDepth, int[] linkIds) {
+        this.id = id;
+        this.name = name;
+        this.queueDepth = queueDepth;
+        this.linkIds = Arrays.stream(linkIds).distinct().sorted().toArray();
+        this.linkCounts = new LongAdder[this.linkIds.length];
+        for (int i = 0; i < linkCounts.length; i++) {
+            linkCounts[i] = new LongAdder();
+        }
+    }
+
+    public void onReceived() {
+        received.increment();
+    }
+
+    // Una copia salió por el enlace hacia toId
+    public void onForwarded(int toId) {
+        forwarded.increment();
+        int index = Arrays.binarySearch(linkIds, toId);
+        if (index >= 0) {
+            linkCounts[index].increment();
+            return;
+        }
+        LongAdder[][] blocks = routedCounts;
+        int block = toId >>> BLOCK_BITS;
+        LongAdder link = null;
+        if (block < blocks.length && blocks[block] != null) {
+            link = blocks[block][toId & ((1 << BLOCK_BITS) - 1)];
+        }
+        if (link == null) {
+            link = createRouted(toId);
+        }
+        link.increment();
+    }
+
+    private synchronized LongAdder createRouted(int toId) {
+        LongAdder[][] blocks = routedCounts;
+        int block = toId >>> BLOCK_BITS;
+        if (block >= blocks.length) {
+            blocks = Arrays.copyOf(blocks, Math.max(block + 1, blocks.length * 2));
+        }
+        if (blocks[block] == null) {
+            blocks[block] = new LongAdder[1 << BLOCK_BITS];
+        }
+        int slot = toId & ((1 << BLOCK_BITS) - 1);
+        LongAdder link = blocks[block][slot];
+        if (link == null) {
+            link = blocks[block][slot] = new LongAdder();
+        }
+        routedCounts = blocks; // Escritura volatile: publica el bloque y el contador nuevos
+        return link;
+    }
+
+    public void onDelivered() {
+        delivered.increment();
+    }
+
+    public void onDropped() {
+        dropped.increment();
+    }
+
+    public void onForcedDrop() {
+        forcedDrops.increment();
+    }
+
+    public void recordProcessing(long nanos) {
+        processing.record(nanos);
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public int getQueueDepth() {
+        return queueDepth.getAsInt();
+    }
+
+    @Override
+    public long getReceived() {
+        return received.sum();
+    }
+
+    @Override
+    public long getForwarded() {
+        return forwarded.sum();
+    }
+
+    @Override
+    public long getDelivered() {
+        return delivered.sum();
+    }
+
+    @Override
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    @Override
+    public long getForcedDrops() {
+        return forcedDrops.sum();
+    }
+
+    @Override
+    public long getBusyNanos() {
+        return processing.getSum();
+    }
+
+    @Override
+    public long getProcessingP50Nanos() {
+        return processing.percentile(50);
+    }
+
+    @Override
+    public long getProcessingP99Nanos() {
+        return processing.percentile(99);
+    }
+
+    @Override
+    public long getProcessingMaxNanos() {
+        return processing.getMax();
+    }
+
+    // Mensajes enviados por enlace, por id del vecino
+    public Map<Integer, Long> getLinkCounts() {
+        Map<Integer, Long> counts = new TreeMap<>();
+        for (int i = 0; i < linkIds.length; i++) {
+            long count = linkCounts[i].sum();
+            if (count > 0) {
+                counts.put(linkIds[i], count);
+            }
+        }
+        LongAdder[][] blocks = routedCounts;
+        for (int block = 0; block < blocks.length; block++) {
+            LongAdder[] links = blocks[block];
+            for (int slot = 0; links != null && slot < links.length; slot++) {
+                if (links[slot] != null) {
+                    counts.merge((block << BLOCK_BITS) | slot, links[slot].sum(), Long::sum);
+                }
+            }
+        }
+        return counts;
+    }
+
+    public NodeSnapshot snapshot() {
+        return new NodeSnapshot(id, name, getQueueDepth(), getReceived(), getForwarded(), getDelivered(),
+                getDropped(), getForcedDrops(), getBusyNanos(), getProcessingP50Nanos(), getProcessingP99Nanos(),
+                getProcessingMaxNanos(), getLinkCounts());
+    }
+}
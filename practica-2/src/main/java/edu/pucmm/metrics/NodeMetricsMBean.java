@@ -0,0 +1,27 @@
+package edu.pucmm.metrics;
+
+// Vista JMX de las métricas de un nodo (o del switch); los tiempos en ns
+public interface NodeMetricsMBean {
+
+    String getName();
+
+    int getQueueDepth();
+
+    long getReceived();
+
+    long getForwarded();
+
+    long getDelivered();
+
+    long getDropped();
+
+    long getForcedDrops();
+
+    long getBusyNanos();
+
+    long getProcessingP50Nanos();
+
+    long getProcessingP99Nanos();
+
+    long getProcessingMaxNanos();
+}
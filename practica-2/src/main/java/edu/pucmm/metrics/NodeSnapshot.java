@@ -0,0 +1,16 @@
+package edu.pucmm.metrics;
+
+import java.util.Map;
+
+// Valores de un NodeMetrics en un instante; linkCounts va por id del vecino
+public record NodeSnapshot(int id, String name, int queueDepth, long received, long forwarded, long delivered,
+                           long dropped, long forcedDrops, long busyNanos, long processingP50Nanos, long processingP99Nanos,
+                           long processingMaxNanos, Map<Integer, Long> linkCounts) {
+
+    @Override
+    public String toString() {
+        return String.format("%s: cola=%d recibidos=%d reenviados=%d entregados=%d descartados=%d "
+                        + "forzados=%d ocupado=%.3f ms p50=%d ns p99=%d ns", name, queueDepth, received, forwarded, delivered,
+                dropped, forcedDrops, busyNanos / 1e6, processingP50Nanos, processingP99Nanos);
+    }
+}
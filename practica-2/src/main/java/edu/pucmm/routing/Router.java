@@ -0,0 +1,11 @@
+package edu.pucmm.routing;
+
+import edu.pucmm.core.Node;
+
+// Decide por cuál enlace sale un mensaje: con un router el mensaje sigue un solo camino en vez de inundar la red
+@FunctionalInterface
+public interface Router {
+
+    // Siguiente nodo en el camino más corto de currentId a destinationId; null si no hay ruta
+    Node nextHop(int currentId, int destinationId);
+}
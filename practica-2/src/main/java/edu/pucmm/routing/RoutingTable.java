@@ -0,0 +1,78 @@
+package edu.pucmm.routing;
+
+import edu.pucmm.core.Node;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.IntStream;
+
+// Tabla de siguiente salto para topologías sin una ruta de fórmula cerrada.
+// Se calcula un BFS por destino sobre los enlaces invertidos, todos en paralelo; cada BFS deja, para
+// cada nodo, el vecino por el que sale el camino más corto hacia ese destino. Ocupa N^2 enteros (con 30000
+// nodos son unos 3.6 GB), así que solo sirve para redes de algunos miles de nodos; las topologías con una
+// ruta de fórmula cerrada (ring, tree, star, hypercube, ...) no la usan.
+public class RoutingTable implements Router {
+
+    private static final int NO_ROUTE = -1;
+
+    private final Node[] nodes;  // Por id
+    private final int[][] next;  // next[destino][actual] = id del siguiente salto
+
+    public RoutingTable(Collection<Node> nodes) {
+        int size = 0;
+        for (Node node : nodes) {
+            size = Math.max(size, node.getId() + 1);
+        }
+        this.nodes = new Node[size];
+        List<List<Integer>> incoming = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            incoming.add(new ArrayList<>());
+        }
+        for (Node node : nodes) {
+            this.nodes[node.getId()] = node;
+            for (Node link : node.getLinks()) {
+                incoming.get(link.getId()).add(node.getId());
+            }
+        }
+        int[][] reverse = new int[size][];
+        for (int i = 0; i < size; i++) {
+            reverse[i] = incoming.get(i).stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        this.next = new int[size][];
+        IntStream.range(0, size).parallel().forEach(destination -> next[destination] = bfs(destination, reverse));
+    }
+
+    @Override
+    public Node nextHop(int currentId, int destinationId) {
+        if (destinationId < 0 || destinationId >= next.length || currentId < 0 || currentId >= next.length) {
+            return null;
+        }
+        int hop = next[destinationId][currentId];
+        return hop == NO_ROUTE ? null : nodes[hop];
+    }
+
+    private int[] bfs(int destination, int[][] reverse) {
+        int size = reverse.length;
+        int[] hop = new int[size];
+        Arrays.fill(hop, NO_ROUTE);
+        hop[destination] = destination;
+        int[] queue = new int[size];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = destination;
+        // Termina al alcanzar todos los nodos: en una red completa cada BFS cuesta O(N) y no O(N^2)
+        while (head < tail && tail < size) {
+            int current = queue[head++];
+            for (int previous : reverse[current]) {
+                if (hop[previous] == NO_ROUTE) {
+                    hop[previous] = current; // Desde previous, el camino más corto sigue por current
+                    queue[tail++] = previous;
+                }
+            }
+        }
+        return hop;
+    }
+}
@@ -0,0 +1,340 @@
+package edu.pucmm.sim;
+
+import edu.pucmm.core.Node;
+import edu.pucmm.metrics.LatencyHistogram;
+import edu.pucmm.routing.Router;
+import edu.pucmm.routing.RoutingTable;
+import edu.pucmm.topology.BusNetwork;
+import edu.pucmm.topology.NetworkTopology;
+import edu.pucmm.topology.SwitchedNetwork;
+import edu.pucmm.traffic.TrafficPattern;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+// Simulación de eventos discretos de una topología: un reloj virtual en ns y una cola de eventos reemplazan a
+// los hilos, así los resultados no dependen del planificador ni de la máquina y una corrida procesa millones
+// de eventos por segundo en un solo hilo.
+//
+// Cada enlace dirigido tiene ancho de banda, latencia de propagación y una cola de salida acotada (LinkModel).
+// Un mensaje ocupa el transmisor size/bandwidth ns y llega al otro extremo latency ns después; si el
+// transmisor está ocupado espera en la cola, y si la cola está llena se descarta. En STORE_AND_FORWARD el
+// siguiente nodo reenvía al recibir el último byte; en CUT_THROUGH, al recibir el encabezado.
+//
+// Las rutas son las mismas de la simulación con hilos: el router de los nodos, o una RoutingTable sobre los
+// enlaces si la topología se configuró con inundación. Bus y switched no tienen enlaces entre nodos. El bus es un
+// solo transmisor compartido: todos los mensajes de la red esperan en la misma cola y llegan directo al destino.
+// El switch es un nodo más (id nodeCount) con un puerto por nodo en cada sentido: origen -> switch -> destino,
+// dos saltos, y los mensajes hacia un mismo destino compiten por su puerto de salida.
+public class DiscreteEventSimulator {
+
+    public static final int DEFAULT_HEADER_BYTES = 8;
+
+    private static final int INJECT = 0;
+    private static final int TRANSMITTED = 1; // first = enlace: el transmisor quedó libre
+    private static final int ARRIVE = 2;      // first = mensaje, second = nodo
+
+    private final int nodeCount;
+    private final Router router;
+    private final boolean bus;
+    private final int switchId; // -1 si la topología no es switched
+    private final LinkModel defaultLink;
+    private final Switching switching;
+    private final int headerBytes;
+    private final Map<Long, LinkModel> customLinks = new HashMap<>();
+    private final EventQueue events = new EventQueue();
+
+    // Enlaces de cada nodo, ordenados por id del vecino para buscarlos con búsqueda binaria
+    private final int[][] neighborIds;
+    private final int[][] linkIds;
+    private final int[] degrees;
+
+    // Estado de cada enlace
+    private int linkCount;
+    private int busLink = -1; // El medio compartido del bus; se crea con el primer mensaje
+    private int[] linkTargets = new int[1024]; // -1 en el bus: el mensaje llega a su destino
+    private LinkModel[] linkModels = new LinkModel[1024];
+    private boolean[] busy = new boolean[1024];
+    private int[][] queues = new int[1024][];  // Cola circular de la salida; se crea con el primer mensaje
+    private int[] queueHeads = new int[1024];
+    private int[] queueSizes = new int[1024];
+
+    // Mensajes de la corrida actual, por índice
+    private int[] destinations = new int[1024];
+    private int[] hops = new int[1024];
+    private long[] injectedAt = new long[1024];
+    private long[] tails = new long[1024]; // En CUT_THROUGH, lo que falta del último enlace tras el encabezado
+
+    public DiscreteEventSimulator(NetworkTopology topology, LinkModel defaultLink, Switching switching) {
+        this(topology, defaultLink, switching, DEFAULT_HEADER_BYTES);
+    }
+
+    public DiscreteEventSimulator(NetworkTopology topology, LinkModel defaultLink, Switching switching,
+                                  int headerBytes) {
+        Collection<Node> nodes = topology.getNodes();
+        this.nodeCount = nodes.size();
+        this.defaultLink = defaultLink;
+        this.switching = switching;
+        this.headerBytes = headerBytes;
+        this.bus = topology instanceof BusNetwork;
+        this.switchId = topology instanceof SwitchedNetwork ? nodeCount : -1;
+        int linkNodes = nodeCount + 1; // La última entrada es la del switch; vacía en las demás topologías
+        this.neighborIds = new int[linkNodes][];
+        this.linkIds = new int[linkNodes][];
+        this.degrees = new int[linkNodes];
+        this.neighborIds[nodeCount] = new int[0];
+        this.linkIds[nodeCount] = new int[0];
+
+        boolean hasLinks = false;
+        Router nodeRouter = null;
+        for (Node node : nodes) {
+            int[] ids = node.getLinks().stream().mapToInt(Node::getId).distinct().sorted().toArray();
+            neighborIds[node.getId()] = ids;
+            linkIds[node.getId()] = new int[ids.length];
+            degrees[node.getId()] = ids.length;
+            hasLinks |= ids.length > 0;
+            if (nodeRouter == null) {
+                nodeRouter = node.getRouter();
+            }
+        }
+        if (nodeRouter != null) {
+            this.router = nodeRouter;
+        } else if (hasLinks) {
+            this.router = new RoutingTable(nodes); // O(N^2) en memoria: solo para redes de algunos miles de nodos
+        } else {
+            this.router = null; // Bus o switched: las rutas salen de forward
+        }
+    }
+
+    // Cambia los parámetros de un enlace dirigido; se aplica a las corridas siguientes
+    public void setLink(int fromId, int toId, LinkModel model) {
+        customLinks.put(key(fromId, toId), model);
+    }
+
+    /**
+     * Inyecta messages mensajes (después de warmup que no se miden) con llegadas de Poisson a rate mensajes
+     * por segundo virtual en total, desde orígenes uniformes y con destinos según el patrón.
+     */
+    public SimulationResult run(TrafficPattern pattern, double rate, int messageSize, int warmup, int messages,
+                                long seed) {
+        if (rate <= 0) {
+            throw new IllegalArgumentException("La tasa debe ser positiva en la simulación de eventos.");
+        }
+        reset();
+        Random random = new Random(seed);
+        long[] sequences = new long[nodeCount];
+        LatencyHistogram latency = new LatencyHistogram();
+        int total = warmup + messages;
+        double meanGapNanos = 1e9 / rate;
+        double nextArrival = 0; // En double: redondear cada intervalo a ns sesgaría la tasa a tasas altas
+
+        int injected = 0;
+        long attempts = 0;
+        long measureStart = -1;
+        long injectEnd = 0;
+        long delivered = 0;
+        long deliveredInWindow = 0;
+        long dropped = 0;
+        long hopSum = 0;
+        long processed = 0;
+
+        long wallStart = System.nanoTime();
+        events.schedule(0, INJECT, 0, 0);
+        while (events.poll()) {
+            processed++;
+            long now = events.time();
+            int message;
+            int node;
+            switch (events.type()) {
+                case INJECT:
+                    int source = random.nextInt(nodeCount);
+                    int destination = pattern.destination(source, sequences[source]++, random);
+                    attempts++;
+                    if (destination != source) { // Un mensaje a sí mismo no usa la red
+                        message = injected++;
+                        ensureMessageCapacity(injected);
+                        destinations[message] = destination;
+                        hops[message] = 0;
+                        injectedAt[message] = now;
+                        if (message == warmup) {
+                            measureStart = now;
+                        }
+                        injectEnd = now;
+                        if (!forward(message, source, now, messageSize)) {
+                            dropped += message >= warmup ? 1 : 0;
+                        }
+                    }
+                    if (injected < total && attempts < 10L * total) {
+                        nextArrival += -Math.log(1 - random.nextDouble()) * meanGapNanos;
+                        events.schedule(Math.round(nextArrival), INJECT, 0, 0);
+                    }
+                    break;
+                case TRANSMITTED:
+                    int link = events.first();
+                    busy[link] = false;
+                    if (queueSizes[link] > 0) {
+                        int[] queue = queues[link];
+                        int next = queue[queueHeads[link]];
+                        queueHeads[link] = (queueHeads[link] + 1) % queue.length;
+                        queueSizes[link]--;
+                        transmit(link, next, now, messageSize);
+                    }
+                    break;
+                default:
+                    message = events.first();
+                    node = events.second();
+                    hops[message]++;
+                    if (node == destinations[message]) {
+                        long received = now + tails[message]; // Se entrega al llegar el último byte
+                        if (message >= warmup) {
+                            delivered++;
+                            hopSum += hops[message];
+                            latency.record(received - injectedAt[message]);
+                        }
+                        // Throughput: toda entrega mientras se inyecta, también las del calentamiento que
+                        // siguen en vuelo; en régimen estable iguala a la tasa ofrecida
+                        if (measureStart >= 0 && (injected < total || received <= injectEnd)) {
+                            deliveredInWindow++;
+                        }
+                    } else if (!forward(message, node, now, messageSize)) {
+                        dropped += message >= warmup ? 1 : 0;
+                    }
+                    break;
+            }
+        }
+        long wallNanos = System.nanoTime() - wallStart;
+
+        long measured = Math.max(0, injected - warmup);
+        long window = measureStart < 0 ? 0 : injectEnd - measureStart;
+        double throughput = window <= 0 ? 0 : deliveredInWindow / (window / 1e9);
+        double meanHops = delivered == 0 ? 0 : (double) hopSum / delivered;
+        return new SimulationResult(rate, measured, delivered, dropped, throughput,
+                latency.percentile(50), latency.percentile(99), latency.percentile(99.9), latency.getMax(),
+                meanHops, processed, wallNanos);
+    }
+
+    // Pone el mensaje en el enlace hacia el siguiente salto; false si se descartó
+    private boolean forward(int message, int node, long now, int messageSize) {
+        int link;
+        if (bus) {
+            if (busLink < 0) {
+                busLink = createLink(-1, -1);
+            }
+            link = busLink;
+        } else {
+            int nextNode;
+            if (switchId >= 0) {
+                nextNode = node == switchId ? destinations[message] : switchId;
+            } else if (router == null) {
+                nextNode = destinations[message];
+            } else {
+                Node next = router.nextHop(node, destinations[message]);
+                if (next == null) {
+                    return false; // Sin ruta
+                }
+                nextNode = next.getId();
+            }
+            link = linkId(node, nextNode);
+        }
+        if (!busy[link]) {
+            transmit(link, message, now, messageSize);
+            return true;
+        }
+        int capacity = linkModels[link].bufferSize();
+        if (queueSizes[link] == capacity) {
+            return false; // Cola de salida llena
+        }
+        int[] queue = queues[link];
+        if (queue == null) {
+            queue = queues[link] = new int[capacity];
+        }
+        queue[(queueHeads[link] + queueSizes[link]) % capacity] = message;
+        queueSizes[link]++;
+        return true;
+    }
+
+    private void transmit(int link, int message, long now, int messageSize) {
+        LinkModel model = linkModels[link];
+        long transmission = model.transmissionNanos(messageSize);
+        busy[link] = true;
+        events.schedule(now + transmission, TRANSMITTED, link, 0);
+        long firstForwardable = switching == Switching.CUT_THROUGH
+                ? model.transmissionNanos(Math.min(headerBytes, messageSize))
+                : transmission;
+        tails[message] = transmission - firstForwardable;
+        int target = linkTargets[link] < 0 ? destinations[message] : linkTargets[link];
+        events.schedule(now + firstForwardable + model.latencyNanos(), ARRIVE, message, target);
+    }
+
+    // Id del enlace dirigido from -> to; lo crea si la topología no lo tenía (puertos del switch)
+    private int linkId(int from, int to) {
+        int[] ids = neighborIds[from];
+        int index = Arrays.binarySearch(ids, 0, degrees[from], to);
+        if (index < 0) {
+            index = -index - 1;
+            if (degrees[from] == ids.length) {
+                ids = neighborIds[from] = Arrays.copyOf(ids, Math.max(4, ids.length * 2));
+                linkIds[from] = Arrays.copyOf(linkIds[from], ids.length);
+            }
+            int[] links = linkIds[from];
+            System.arraycopy(ids, index, ids, index + 1, degrees[from] - index);
+            System.arraycopy(links, index, links, index + 1, degrees[from] - index);
+            ids[index] = to;
+            links[index] = -1;
+            degrees[from]++;
+        }
+        int link = linkIds[from][index];
+        if (link < 0) {
+            link = createLink(from, to);
+            linkIds[from][index] = link;
+        }
+        return link;
+    }
+
+    private int createLink(int from, int to) {
+        if (linkCount == linkTargets.length) {
+            int capacity = linkCount * 2;
+            linkTargets = Arrays.copyOf(linkTargets, capacity);
+            linkModels = Arrays.copyOf(linkModels, capacity);
+            busy = Arrays.copyOf(busy, capacity);
+            queues = Arrays.copyOf(queues, capacity);
+            queueHeads = Arrays.copyOf(queueHeads, capacity);
+            queueSizes = Arrays.copyOf(queueSizes, capacity);
+        }
+        int link = linkCount++;
+        linkTargets[link] = to;
+        linkModels[link] = customLinks.getOrDefault(key(from, to), defaultLink);
+        return link;
+    }
+
+    // Cada corrida empieza con la red vacía; los enlaces se vuelven a crear con los parámetros vigentes
+    private void reset() {
+        events.clear();
+        for (int[] links : linkIds) {
+            Arrays.fill(links, -1);
+        }
+        busLink = -1;
+        Arrays.fill(queues, 0, linkCount, null);
+        Arrays.fill(busy, 0, linkCount, false);
+        Arrays.fill(queueHeads, 0, linkCount, 0);
+        Arrays.fill(queueSizes, 0, linkCount, 0);
+        linkCount = 0;
+    }
+
+    private void ensureMessageCapacity(int count) {
+        if (count > destinations.length) {
+            int capacity = Math.max(count, destinations.length * 2);
+            destinations = Arrays.copyOf(destinations, capacity);
+            hops = Arrays.copyOf(hops, capacity);
+            injectedAt = Arrays.copyOf(injectedAt, capacity);
+            tails = Arrays.copyOf(tails, capacity);
+        }
+    }
+
+    private static long key(int from, int to) {
+        return ((long) from << 32) | (to & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,140 @@
+package edu.pucmm.sim;
+
+import java.util.Arrays;
+
+// Cola de prioridad de eventos por tiempo virtual, sin objetos por evento: los eventos viven en arreglos
+// paralelos (casillas que se reciclan) y el heap binario ordena solo índices int. A igual tiempo sale primero
+// el que se programó primero, así la simulación es determinista.
+final class EventQueue {
+
+    private long[] times = new long[1024];
+    private long[] orders = new long[1024];
+    private int[] types = new int[1024];
+    private int[] firsts = new int[1024];
+    private int[] seconds = new int[1024];
+    private int[] freeSlots = new int[1024];
+    private int freeCount;
+    private int slotCount;
+
+    private int[] heap = new int[1024];
+    private int size;
+    private long nextOrder;
+
+    // Evento extraído por poll
+    private long time;
+    private int type;
+    private int first;
+    private int second;
+
+    void schedule(long at, int eventType, int firstArg, int secondArg) {
+        int slot = allocate();
+        times[slot] = at;
+        orders[slot] = nextOrder++;
+        types[slot] = eventType;
+        firsts[slot] = firstArg;
+        seconds[slot] = secondArg;
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, size * 2);
+        }
+        heap[size] = slot;
+        siftUp(size++);
+    }
+
+    // Saca el evento más próximo y deja sus datos en time(), type(), first() y second(); false si no hay
+    boolean poll() {
+        if (size == 0) {
+            return false;
+        }
+        int slot = heap[0];
+        time = times[slot];
+        type = types[slot];
+        first = firsts[slot];
+        second = seconds[slot];
+        heap[0] = heap[--size];
+        if (size > 0) {
+            siftDown(0);
+        }
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+        }
+        freeSlots[freeCount++] = slot;
+        return true;
+    }
+
+    long time() {
+        return time;
+    }
+
+    int type() {
+        return type;
+    }
+
+    int first() {
+        return first;
+    }
+
+    int second() {
+        return second;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    void clear() {
+        size = 0;
+        freeCount = 0;
+        slotCount = 0;
+        nextOrder = 0;
+    }
+
+    private int allocate() {
+        if (freeCount > 0) {
+            return freeSlots[--freeCount];
+        }
+        if (slotCount == times.length) {
+            int capacity = slotCount * 2;
+            times = Arrays.copyOf(times, capacity);
+            orders = Arrays.copyOf(orders, capacity);
+            types = Arrays.copyOf(types, capacity);
+            firsts = Arrays.copyOf(firsts, capacity);
+            seconds = Arrays.copyOf(seconds, capacity);
+        }
+        return slotCount++;
+    }
+
+    private boolean before(int a, int b) {
+        return times[a] < times[b] || (times[a] == times[b] && orders[a] < orders[b]);
+    }
+
+    private void siftUp(int index) {
+        int slot = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!before(slot, heap[parent])) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = slot;
+    }
+
+    private void siftDown(int index) {
+        int slot = heap[index];
+        int half = size >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            int right = child + 1;
+            if (right < size && before(heap[right], heap[child])) {
+                child = right;
+            }
+            if (!before(heap[child], slot)) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = slot;
+    }
+}
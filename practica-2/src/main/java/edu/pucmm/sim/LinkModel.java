@@ -0,0 +1,17 @@
+package edu.pucmm.sim;
+
+// Parámetros de un enlace dirigido: ancho de banda en bytes/s, latencia de propagación en ns y cuántos
+// mensajes caben en la cola de salida mientras el enlace transmite (los que no caben se descartan)
+public record LinkModel(long bandwidth, long latencyNanos, int bufferSize) {
+
+    public LinkModel {
+        if (bandwidth <= 0 || latencyNanos < 0 || bufferSize < 0) {
+            throw new IllegalArgumentException("Parámetros de enlace inválidos.");
+        }
+    }
+
+    // Tiempo en ns para serializar bytes en el enlace, redondeado hacia arriba
+    public long transmissionNanos(int bytes) {
+        return (bytes * 1_000_000_000L + bandwidth - 1) / bandwidth;
+    }
+}
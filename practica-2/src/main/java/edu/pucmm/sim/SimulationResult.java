@@ -0,0 +1,17 @@
+package edu.pucmm.sim;
+
+// Resultado de una corrida del simulador. Los tiempos son virtuales (ns), salvo wallNanos.
+// throughput cuenta las entregas medidas que ocurrieron mientras se inyectaba: si queda por debajo de
+// offeredRate, o hay descartes, la red está saturada a esa tasa.
+public record SimulationResult(double offeredRate, long injected, long delivered, long dropped, double throughput,
+                               long p50Nanos, long p99Nanos, long p999Nanos, long maxNanos, double meanHops,
+                               long events, long wallNanos) {
+
+    public boolean saturated() {
+        return dropped > 0 || throughput < 0.95 * offeredRate;
+    }
+
+    public double eventsPerSecond() {
+        return events / (Math.max(1, wallNanos) / 1e9);
+    }
+}
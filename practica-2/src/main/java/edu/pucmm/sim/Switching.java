@@ -0,0 +1,9 @@
+package edu.pucmm.sim;
+
+// Cómo reenvía un nodo intermedio
+public enum Switching {
+    // Espera a recibir el mensaje completo antes de reenviarlo
+    STORE_AND_FORWARD,
+    // Empieza a reenviar apenas llega el encabezado, si el enlace de salida está libre (virtual cut-through)
+    CUT_THROUGH
+}
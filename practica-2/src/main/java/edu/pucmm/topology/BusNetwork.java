@@ -1,16 +1,18 @@
 package edu.pucmm.topology;
 
 import edu.pucmm.core.Node;
+import edu.pucmm.core.NodeScheduler;
 import edu.pucmm.core.Message;
+import edu.pucmm.routing.Router;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 public class BusNetwork implements NetworkTopology {
 
     private final List<Node> nodes = new ArrayList<>();
-    private ExecutorService executor;
+    private NodeScheduler scheduler = NodeScheduler.create("platform");
+    private boolean routing = true;
 
     @Override
     public void configureNetwork(int numberOfNodes) {
@@ -18,11 +20,28 @@ public class BusNetwork implements NetworkTopology {
             Node node = new Node(i);
             nodes.add(node);
         }
+
+        if (routing) {
+            // En el bus todos comparten el medio: el destino está siempre a un salto
+            Router router = (currentId, destinationId) ->
+                    destinationId >= 0 && destinationId < nodes.size() ? nodes.get(destinationId) : null;
+            for (Node node : nodes) {
+                node.setRouter(router);
+            }
+        }
     }
 
     @Override
     public void sendMessage(int sourceId, int destinationId, String messageContent) {
-        Message message = new Message(sourceId, destinationId, messageContent,System.currentTimeMillis());
+        sendMessage(new Message(sourceId, destinationId, messageContent, System.currentTimeMillis()));
+    }
+
+    @Override
+    public void sendMessage(Message message) {
+        if (routing) {
+            nodes.get(message.getSourceId()).receiveMessage(message); // Solo el destino toma el mensaje del medio
+            return;
+        }
 
         // En un bus, el mensaje se transmite a todos, y solo el destino lo procesa
         for (Node node : nodes) {
@@ -30,12 +49,29 @@ public class BusNetwork implements NetworkTopology {
         }
     }
 
+    @Override
+    public Collection<Node> getNodes() {
+        return nodes;
+    }
+
+    @Override
+    public void setRouting(boolean enabled) {
+        this.routing = enabled;
+    }
+
+    @Override
+    public void setScheduler(NodeScheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
     @Override
     public void startSimulation() {
-        executor = Executors.newFixedThreadPool(nodes.size());
-        for (Node node : nodes) {
-            executor.execute(node);
-        }
+        scheduler.start(nodes);
+    }
+
+    @Override
+    public void stopSimulation() {
+        scheduler.shutdown();
     }
 
     @Override
@@ -1,17 +1,19 @@
 package edu.pucmm.topology;
 
 import edu.pucmm.core.Node;
+import edu.pucmm.core.NodeScheduler;
 import edu.pucmm.core.Message;
+import edu.pucmm.routing.Router;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 public class FullyConnectedNetwork implements NetworkTopology {
 
     private final List<Node> nodes = new ArrayList<>();
-    private ExecutorService executor;
+    private NodeScheduler scheduler = NodeScheduler.create("platform");
+    private boolean routing = true;
 
     @Override
     public void configureNetwork(int numberOfNodes) {
@@ -27,20 +29,56 @@ public class FullyConnectedNetwork implements NetworkTopology {
                 }
             }
         }
+
+        if (routing) {
+            Router router = this::nextHop;
+            for (Node node : nodes) {
+                node.setRouter(router);
+            }
+        }
+    }
+
+    // Todos están enlazados con todos: el destino siempre está a un salto
+    private Node nextHop(int currentId, int destinationId) {
+        if (destinationId < 0 || destinationId >= nodes.size()) {
+            return null;
+        }
+        return nodes.get(destinationId);
     }
 
     @Override
     public void sendMessage(int sourceId, int destinationId, String messageContent) {
-        Message message = new Message(sourceId, destinationId, messageContent,System.currentTimeMillis());
-        nodes.get(sourceId).receiveMessage(message); // envío directo desde el origen
+        sendMessage(new Message(sourceId, destinationId, messageContent, System.currentTimeMillis()));
+    }
+
+    @Override
+    public void sendMessage(Message message) {
+        nodes.get(message.getSourceId()).receiveMessage(message); // envío directo desde el origen
+    }
+
+    @Override
+    public Collection<Node> getNodes() {
+        return nodes;
+    }
+
+    @Override
+    public void setRouting(boolean enabled) {
+        this.routing = enabled;
+    }
+
+    @Override
+    public void setScheduler(NodeScheduler scheduler) {
+        this.scheduler = scheduler;
     }
 
     @Override
     public void startSimulation() {
-        executor = Executors.newFixedThreadPool(nodes.size());
-        for (Node node : nodes) {
-            executor.execute(node);
-        }
+        scheduler.start(nodes);
+    }
+
+    @Override
+    public void stopSimulation() {
+        scheduler.shutdown();
     }
 
     @Override
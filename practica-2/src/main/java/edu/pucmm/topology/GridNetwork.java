@@ -0,0 +1,214 @@
+package edu.pucmm.topology;
+
+import edu.pucmm.core.Message;
+import edu.pucmm.core.Node;
+import edu.pucmm.core.NodeScheduler;
+import edu.pucmm.routing.Router;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+// Malla k-aria de 2 o 3 dimensiones; con torus, cada dimensión se cierra en anillo. Cada nodo se enlaza solo
+// con sus vecinos inmediatos en cada dimensión (a lo sumo 2 por dimensión), así el grado no crece con N.
+// El id de un nodo es x + k0 * (y + k1 * z).
+public class GridNetwork implements NetworkTopology {
+
+    private static final int PRINT_LIMIT = 256; // Con más nodos printNetworkState solo muestra el resumen
+
+    private final List<Node> nodes = new ArrayList<>();
+    private final boolean torus;
+    private final int dimensionCount;
+    private int[] dimensions; // null: se reparten los nodos en dimensionCount dimensiones lo más parejas posible
+    private int[] strides;
+    private NodeScheduler scheduler = NodeScheduler.create("platform");
+    private boolean routing = true;
+
+    // Dimensiones a partir de la cantidad de nodos
+    public GridNetwork(int dimensionCount, boolean torus) {
+        if (dimensionCount < 1) {
+            throw new IllegalArgumentException("La malla requiere al menos una dimensión.");
+        }
+        this.dimensionCount = dimensionCount;
+        this.torus = torus;
+    }
+
+    // Dimensiones fijas, por ejemplo {16, 16, 8}; configureNetwork exige su producto como cantidad de nodos
+    public GridNetwork(int[] dimensions, boolean torus) {
+        this(dimensions.length, torus);
+        for (int size : dimensions) {
+            if (size < 1) {
+                throw new IllegalArgumentException("Dimensión inválida: " + Arrays.toString(dimensions));
+            }
+        }
+        this.dimensions = dimensions.clone();
+    }
+
+    @Override
+    public void configureNetwork(int numberOfNodes) {
+        if (dimensions == null) {
+            dimensions = balancedDimensions(numberOfNodes, dimensionCount);
+        }
+        long product = 1;
+        for (int size : dimensions) {
+            product *= size;
+        }
+        if (product != numberOfNodes) {
+            throw new IllegalArgumentException("La malla " + describe() + " tiene " + product + " nodos, no "
+                    + numberOfNodes + ".");
+        }
+        strides = new int[dimensions.length];
+        int stride = 1;
+        for (int d = 0; d < dimensions.length; d++) {
+            strides[d] = stride;
+            stride *= dimensions[d];
+        }
+
+        for (int i = 0; i < numberOfNodes; i++) {
+            nodes.add(new Node(i));
+        }
+
+        // Vecino siguiente en cada dimensión (con la vuelta en el toro); el enlace se agrega en ambos sentidos
+        for (int i = 0; i < numberOfNodes; i++) {
+            for (int d = 0; d < dimensions.length; d++) {
+                int size = dimensions[d];
+                int coordinate = (i / strides[d]) % size;
+                int next = coordinate + 1;
+                if (next == size) {
+                    // Con 2 nodos el vecino de la vuelta es el mismo de adelante: no se duplica el enlace
+                    if (!torus || size <= 2) {
+                        continue;
+                    }
+                    next = 0;
+                }
+                Node node = nodes.get(i);
+                Node neighbor = nodes.get(i + (next - coordinate) * strides[d]);
+                node.addNeighbor(neighbor);
+                neighbor.addNeighbor(node);
+            }
+        }
+
+        if (routing) {
+            Router router = this::nextHop;
+            for (Node node : nodes) {
+                node.setRouter(router);
+            }
+        }
+    }
+
+    @Override
+    public void sendMessage(int sourceId, int destinationId, String message) {
+        sendMessage(new Message(sourceId, destinationId, message, System.currentTimeMillis()));
+    }
+
+    @Override
+    public void sendMessage(Message message) {
+        if (!isValid(message.getSourceId()) || !isValid(message.getDestinationId())) {
+            System.out.println("Nodo inválido.");
+            return;
+        }
+        nodes.get(message.getSourceId()).receiveMessage(message);
+    }
+
+    // Ruteo por orden de dimensión (XY / XYZ): corrige la primera coordenada distinta de a un paso. En el toro
+    // va por el sentido más corto (a igual distancia, hacia adelante). El camino es mínimo y sin ciclos.
+    private Node nextHop(int currentId, int destinationId) {
+        if (!isValid(currentId) || !isValid(destinationId)) {
+            return null;
+        }
+        for (int d = 0; d < dimensions.length; d++) {
+            int size = dimensions[d];
+            int current = (currentId / strides[d]) % size;
+            int target = (destinationId / strides[d]) % size;
+            if (current == target) {
+                continue;
+            }
+            int delta = target - current;
+            if (torus) {
+                if (delta > size / 2) {
+                    delta -= size;
+                } else if (delta < -size / 2 || (delta == -size / 2 && size % 2 == 0)) {
+                    delta += size;
+                }
+            }
+            int next = Math.floorMod(current + Integer.signum(delta), size);
+            return nodes.get(currentId + (next - current) * strides[d]);
+        }
+        return nodes.get(currentId);
+    }
+
+    public int[] getDimensions() {
+        return dimensions == null ? null : dimensions.clone();
+    }
+
+    public boolean isTorus() {
+        return torus;
+    }
+
+    @Override
+    public Collection<Node> getNodes() {
+        return nodes;
+    }
+
+    @Override
+    public void setRouting(boolean enabled) {
+        this.routing = enabled;
+    }
+
+    @Override
+    public void setScheduler(NodeScheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public void startSimulation() {
+        scheduler.start(nodes);
+    }
+
+    @Override
+    public void stopSimulation() {
+        scheduler.shutdown();
+    }
+
+    @Override
+    public void printNetworkState() {
+        System.out.println("Topología " + (torus ? "Torus " : "Mesh ") + describe() + " (" + nodes.size() + " nodos)");
+        if (nodes.size() > PRINT_LIMIT) {
+            return;
+        }
+        for (Node node : nodes) {
+            System.out.println("Nodo " + node.getId() + " conectado a: " + node.getNeighborIds());
+        }
+    }
+
+    private boolean isValid(int id) {
+        return id >= 0 && id < nodes.size();
+    }
+
+    private String describe() {
+        return Arrays.stream(dimensions).mapToObj(String::valueOf).collect(Collectors.joining("x"));
+    }
+
+    // Reparte n en count factores lo más parecidos posible; con n primo queda una sola dimensión larga
+    static int[] balancedDimensions(int n, int count) {
+        if (n < 1) {
+            throw new IllegalArgumentException("La malla requiere al menos un nodo.");
+        }
+        int[] sizes = new int[count];
+        int remaining = n;
+        for (int d = 0; d < count - 1; d++) {
+            int left = count - d;
+            int size = (int) Math.floor(Math.pow(remaining, 1.0 / left) + 1e-9);
+            while (remaining % size != 0) {
+                size--;
+            }
+            sizes[d] = size;
+            remaining /= size;
+        }
+        sizes[count - 1] = remaining;
+        Arrays.sort(sizes);
+        return sizes;
+    }
+}
@@ -1,14 +1,16 @@
 package edu.pucmm.topology;
 
 import java.util.*;
-import java.util.concurrent.*;
 import edu.pucmm.core.Message;
 import edu.pucmm.core.Node;
+import edu.pucmm.core.NodeScheduler;
+import edu.pucmm.routing.Router;
 
 public class HypercubeNetwork implements NetworkTopology {
 
     private final Map<Integer, Node> nodes = new HashMap<>();
-    private ExecutorService executor;
+    private NodeScheduler scheduler = NodeScheduler.create("platform");
+    private boolean routing = true;
 
     @Override
     public void configureNetwork(int numberOfNodes) {
@@ -22,32 +24,75 @@ public class HypercubeNetwork implements NetworkTopology {
             nodes.put(i, new Node(i));
         }
 
-        // Conectar nodos que difieren en un solo bit
+        // Conectar nodos que difieren en un solo bit: invertir cada bit da los d vecinos sin recorrer los N^2 pares
         for (int i = 0; i < numberOfNodes; i++) {
-            for (int j = i + 1; j < numberOfNodes; j++) {
-                if (Integer.bitCount(i ^ j) == 1) {
+            for (int bit = 0; bit < dimension; bit++) {
+                int j = i ^ (1 << bit);
+                if (j > i) {
                     nodes.get(i).addNeighbor(nodes.get(j));
                     nodes.get(j).addNeighbor(nodes.get(i));
                 }
             }
         }
+
+        if (routing) {
+            Router router = this::nextHop;
+            for (Node node : nodes.values()) {
+                node.setRouter(router);
+            }
+        }
     }
 
     @Override
     public void sendMessage(int sourceId, int destinationId, String message) {
-        if (!nodes.containsKey(sourceId) || !nodes.containsKey(destinationId)) {
+        sendMessage(new Message(sourceId, destinationId, message, System.currentTimeMillis()));
+    }
+
+    @Override
+    public void sendMessage(Message message) {
+        if (!nodes.containsKey(message.getSourceId()) || !nodes.containsKey(message.getDestinationId())) {
             System.out.println("Nodo inválido.");
             return;
         }
-        nodes.get(destinationId).receiveMessage(new Message(sourceId, destinationId, message,System.currentTimeMillis()));
+        if (routing) {
+            // Recorre la distancia de Hamming entre origen y destino
+            nodes.get(message.getSourceId()).receiveMessage(message);
+            return;
+        }
+        nodes.get(message.getDestinationId()).receiveMessage(message);
+    }
+
+    // Ruteo e-cube: corrige el bit diferente más bajo; el camino es único y de largo mínimo
+    private Node nextHop(int currentId, int destinationId) {
+        if (!nodes.containsKey(destinationId)) {
+            return null;
+        }
+        return nodes.get(currentId ^ Integer.lowestOneBit(currentId ^ destinationId));
+    }
+
+    @Override
+    public Collection<Node> getNodes() {
+        return nodes.values();
+    }
+
+    @Override
+    public void setRouting(boolean enabled) {
+        this.routing = enabled;
+    }
+
+    @Override
+    public void setScheduler(NodeScheduler scheduler) {
+        this.scheduler = scheduler;
     }
 
     @Override
     public void startSimulation() {
-        executor = Executors.newFixedThreadPool(nodes.size());
-        for (Node node : nodes.values()) {
-            executor.submit(node);
-        }
+        scheduler.start(nodes.values());
+    }
+
+    @Override
+    public void stopSimulation() {
+        scheduler.shutdown();
     }
 
     @Override
@@ -2,22 +2,23 @@ package edu.pucmm.topology;
 
 import edu.pucmm.core.Message;
 import edu.pucmm.core.Node;
+import edu.pucmm.core.NodeScheduler;
 import edu.pucmm.core.NetworkManager;
+import edu.pucmm.routing.Router;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 public class MeshNetwork implements NetworkTopology {
 
     private List<Node> nodes;
-    private ExecutorService executor;
+    private NodeScheduler scheduler = NodeScheduler.create("platform");
+    private boolean routing = true;
 
     @Override
     public void configureNetwork( int numberOfNodes) {
         nodes = new ArrayList<>();
-        executor = Executors.newFixedThreadPool(numberOfNodes);
 
         for (int i = 0; i < numberOfNodes; i++) {
             Node node = new Node(i);
@@ -32,23 +33,65 @@ public class MeshNetwork implements NetworkTopology {
                 }
             }
         }
+
+        if (routing) {
+            Router router = this::nextHop;
+            for (Node node : nodes) {
+                node.setRouter(router);
+            }
+        }
+    }
+
+    // Todos están enlazados con todos: el destino siempre está a un salto
+    private Node nextHop(int currentId, int destinationId) {
+        if (destinationId < 0 || destinationId >= nodes.size()) {
+            return null;
+        }
+        return nodes.get(destinationId);
     }
 
 
     @Override
     public void sendMessage(int sourceId, int destinationId, String messageText) {
-        Message msg = new Message(sourceId, destinationId, messageText, System.currentTimeMillis());
-        Node source = NetworkManager.getNode(sourceId);
-        if (source != null) {
+        sendMessage(new Message(sourceId, destinationId, messageText, System.currentTimeMillis()));
+    }
+
+    @Override
+    public void sendMessage(Message msg) {
+        Node source = NetworkManager.getNode(msg.getSourceId());
+        if (source == null) {
+            return;
+        }
+        if (routing) {
+            source.receiveMessage(msg); // El origen lo reenvía por su tabla de rutas
+        } else {
             source.sendMessage(msg);
         }
     }
 
+    @Override
+    public Collection<Node> getNodes() {
+        return nodes;
+    }
+
+    @Override
+    public void setRouting(boolean enabled) {
+        this.routing = enabled;
+    }
+
+    @Override
+    public void setScheduler(NodeScheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
     @Override
     public void startSimulation() {
-        for (Node node : nodes) {
-            executor.submit(node); // Ejecutar cada nodo como hilo
-        }
+        scheduler.start(nodes);
+    }
+
+    @Override
+    public void stopSimulation() {
+        scheduler.shutdown();
     }
 
     @Override
@@ -1,5 +1,14 @@
 package edu.pucmm.topology;
 
+import edu.pucmm.core.Message;
+import edu.pucmm.core.Node;
+import edu.pucmm.core.NodeScheduler;
+import edu.pucmm.metrics.NodeMetrics;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
 public interface NetworkTopology {
     // Aquí se configura la estructura de la red (crear nodos y conexiones)
     void configureNetwork(int numberOfNodes);
@@ -7,9 +16,35 @@ public interface NetworkTopology {
     // Aquí se envía un mensaje desde un nodo origen a un nodo destino
     void sendMessage(int sourceId, int destinationId, String message);
 
+    // Igual, con un mensaje ya armado (por ejemplo, con carga para operaciones colectivas)
+    void sendMessage(Message message);
+
+    // Nodos de la red, ya configurados
+    Collection<Node> getNodes();
+
+    // Planificador con el que corren los nodos; se asigna antes de startSimulation
+    void setScheduler(NodeScheduler scheduler);
+
+    // true: cada mensaje sigue un solo camino por las rutas más cortas; false: se inunda a todos los enlaces.
+    // Se asigna antes de configureNetwork
+    void setRouting(boolean enabled);
+
+    // Activa las métricas de cada nodo y las devuelve; una topología con componentes propios (como el switch)
+    // agrega las suyas
+    default List<NodeMetrics> enableMetrics() {
+        List<NodeMetrics> metrics = new ArrayList<>();
+        for (Node node : getNodes()) {
+            metrics.add(node.enableMetrics());
+        }
+        return metrics;
+    }
+
     // Este es el metodo para iniciar la simulación o procesamiento en la red
     void startSimulation();
 
+    // Detiene los hilos de los nodos (y los auxiliares de la topología, si tiene)
+    void stopSimulation();
+
     // Esto es para imprimir o para retornar el estado actual de la red (es opcional, solo lo agrego para debug o visualización)
     void printNetworkState();
 }
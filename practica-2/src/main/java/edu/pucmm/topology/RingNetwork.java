@@ -1,16 +1,18 @@
 package edu.pucmm.topology;
 
 import edu.pucmm.core.Node;
+import edu.pucmm.core.NodeScheduler;
 import edu.pucmm.core.Message;
+import edu.pucmm.routing.Router;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 public class RingNetwork implements NetworkTopology {
 
     private final List<Node> nodes = new ArrayList<>();
-    private ExecutorService executor;
+    private NodeScheduler scheduler = NodeScheduler.create("platform");
+    private boolean routing = true;
 
     @Override
     public void configureNetwork(int numberOfNodes) {
@@ -24,21 +26,60 @@ public class RingNetwork implements NetworkTopology {
             Node current = nodes.get(i);
             Node next = nodes.get((i + 1) % nodes.size()); // circular
             current.setNeighbor(next); // Este metodo se implementará en Node
+            next.setPrevious(current);
+        }
+
+        if (routing) {
+            Router router = this::nextHop;
+            for (Node node : nodes) {
+                node.setRouter(router);
+            }
         }
     }
 
     @Override
     public void sendMessage(int sourceId, int destinationId, String messageContent) {
-        Message message = new Message(sourceId, destinationId, messageContent,System.currentTimeMillis());
-        nodes.get(sourceId).receiveMessage(message); // El origen inicia el envío
+        sendMessage(new Message(sourceId, destinationId, messageContent, System.currentTimeMillis()));
     }
 
     @Override
-    public void startSimulation() {
-        executor = Executors.newFixedThreadPool(nodes.size());
-        for (Node node : nodes) {
-            executor.execute(node);
+    public void sendMessage(Message message) {
+        nodes.get(message.getSourceId()).receiveMessage(message); // El origen inicia el envío
+    }
+
+    // Sentido más corto: hacia adelante si el destino está a media vuelta o menos, si no hacia atrás
+    private Node nextHop(int currentId, int destinationId) {
+        if (destinationId < 0 || destinationId >= nodes.size()) {
+            return null;
         }
+        int forward = Math.floorMod(destinationId - currentId, nodes.size());
+        Node current = nodes.get(currentId);
+        return forward <= nodes.size() / 2 ? current.getNeighbor() : current.getPrevious();
+    }
+
+    @Override
+    public Collection<Node> getNodes() {
+        return nodes;
+    }
+
+    @Override
+    public void setRouting(boolean enabled) {
+        this.routing = enabled;
+    }
+
+    @Override
+    public void setScheduler(NodeScheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public void startSimulation() {
+        scheduler.start(nodes);
+    }
+
+    @Override
+    public void stopSimulation() {
+        scheduler.shutdown();
     }
 
     @Override
@@ -2,15 +2,17 @@ package edu.pucmm.topology;
 
 import edu.pucmm.core.Message;
 import edu.pucmm.core.Node;
+import edu.pucmm.core.NodeScheduler;
+import edu.pucmm.routing.Router;
 
 import java.util.*;
-import java.util.concurrent.*;
 
 public class StarNetwork implements NetworkTopology {
 
     private final Map<Integer, Node> nodes = new HashMap<>();
     private Node centralNode;
-    private ExecutorService executor;
+    private NodeScheduler scheduler = NodeScheduler.create("platform");
+    private boolean routing = true;
 
     @Override
     public void configureNetwork(int numberOfNodes) {
@@ -34,6 +36,22 @@ public class StarNetwork implements NetworkTopology {
             node.addNeighbor(centralNode);
             centralNode.addNeighbor(node);
         }
+
+        if (routing) {
+            Router router = this::nextHop;
+            for (Node node : nodes.values()) {
+                node.setRouter(router);
+            }
+        }
+    }
+
+    // Una hoja siempre sale por el nodo central; el central entrega directo al destino
+    private Node nextHop(int currentId, int destinationId) {
+        Node destination = nodes.get(destinationId);
+        if (destination == null) {
+            return null;
+        }
+        return currentId == centralNode.getId() ? destination : centralNode;
     }
 
     @Override
@@ -43,6 +61,11 @@ public class StarNetwork implements NetworkTopology {
             return;
         }
 
+        if (routing) {
+            sendMessage(new Message(sourceId, destinationId, message, System.currentTimeMillis()));
+            return;
+        }
+
         // Enviar a través del nodo central
         Node source = nodes.get(sourceId);
         Node destination = nodes.get(destinationId);
@@ -56,12 +79,39 @@ public class StarNetwork implements NetworkTopology {
         }
     }
 
+    // Un solo mensaje desde el origen: con ruteo pasa por el nodo central; con inundación el central lo reenvía
     @Override
-    public void startSimulation() {
-        executor = Executors.newFixedThreadPool(nodes.size());
-        for (Node node : nodes.values()) {
-            executor.submit(node);
+    public void sendMessage(Message message) {
+        if (!nodes.containsKey(message.getSourceId()) || !nodes.containsKey(message.getDestinationId())) {
+            System.out.println("Nodo no válido.");
+            return;
         }
+        nodes.get(message.getSourceId()).receiveMessage(message);
+    }
+
+    @Override
+    public Collection<Node> getNodes() {
+        return nodes.values();
+    }
+
+    @Override
+    public void setRouting(boolean enabled) {
+        this.routing = enabled;
+    }
+
+    @Override
+    public void setScheduler(NodeScheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public void startSimulation() {
+        scheduler.start(nodes.values());
+    }
+
+    @Override
+    public void stopSimulation() {
+        scheduler.shutdown();
     }
 
     @Override
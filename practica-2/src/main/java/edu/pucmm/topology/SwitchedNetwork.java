@@ -2,6 +2,8 @@ package edu.pucmm.topology;
 
 import edu.pucmm.core.Message;
 import edu.pucmm.core.Node;
+import edu.pucmm.core.NodeScheduler;
+import edu.pucmm.metrics.NodeMetrics;
 import java.util.*;
 import java.util.concurrent.*;
 
@@ -9,7 +11,10 @@ public class SwitchedNetwork implements NetworkTopology {
 
     private final Map<Integer, Node> nodes = new HashMap<>();
     private final BlockingQueue<Message> switchQueue = new LinkedBlockingQueue<>();
+    private NodeScheduler scheduler = NodeScheduler.create("platform");
+    private boolean routing = true; // El switch ya entrega por un solo camino: no cambia nada
     private ExecutorService executor;
+    private volatile NodeMetrics switchMetrics; // Un solo hilo entrega todo: suele ser el cuello de botella
 
     @Override
     public void configureNetwork(int numberOfNodes) {
@@ -22,31 +27,68 @@ public class SwitchedNetwork implements NetworkTopology {
 
     @Override
     public void sendMessage(int sourceId, int destinationId, String message) {
-        if (!nodes.containsKey(sourceId) || !nodes.containsKey(destinationId)) {
+        sendMessage(new Message(sourceId, destinationId, message, System.currentTimeMillis()));
+    }
+
+    @Override
+    public void sendMessage(Message message) {
+        if (!nodes.containsKey(message.getSourceId()) || !nodes.containsKey(message.getDestinationId())) {
             System.out.println("Nodo inválido.");
             return;
         }
-        switchQueue.offer(new Message(sourceId, destinationId, message,System.currentTimeMillis()));
+        switchQueue.offer(message);
+        NodeMetrics metrics = switchMetrics;
+        if (metrics != null) {
+            metrics.onReceived();
+        }
     }
 
     @Override
-    public void startSimulation() {
-        executor = Executors.newFixedThreadPool(nodes.size() + 1); // +1 para el switch
+    public Collection<Node> getNodes() {
+        return nodes.values();
+    }
 
-        // Ejecutar nodos normalmente
-        for (Node node : nodes.values()) {
-            executor.submit(node);
+    @Override
+    public List<NodeMetrics> enableMetrics() {
+        List<NodeMetrics> metrics = NetworkTopology.super.enableMetrics();
+        if (switchMetrics == null) {
+            switchMetrics = new NodeMetrics(-1, "Switch", switchQueue::size);
         }
+        metrics.add(switchMetrics);
+        return metrics;
+    }
+
+    @Override
+    public void setRouting(boolean enabled) {
+        this.routing = enabled;
+    }
+
+    @Override
+    public void setScheduler(NodeScheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public void startSimulation() {
+        // Ejecutar nodos normalmente
+        scheduler.start(nodes.values());
 
         // Hilo especial para el switch
+        executor = Executors.newSingleThreadExecutor();
         executor.submit(() -> {
             while (true) {
                 try {
                     Message msg = switchQueue.take();
+                    NodeMetrics metrics = switchMetrics;
+                    long start = metrics == null ? 0 : System.nanoTime();
                     Node destination = nodes.get(msg.getDestinationId());
                     if (destination != null) {
                         destination.receiveMessage(msg);
                     }
+                    if (metrics != null) {
+                        metrics.onForwarded(msg.getDestinationId());
+                        metrics.recordProcessing(System.nanoTime() - start);
+                    }
                 } catch (InterruptedException e) {
                     Thread.currentThread().interrupt();
                     break;
@@ -55,6 +97,14 @@ public class SwitchedNetwork implements NetworkTopology {
         });
     }
 
+    @Override
+    public void stopSimulation() {
+        scheduler.shutdown();
+        if (executor != null) {
+            executor.shutdownNow(); // Interrumpe el hilo del switch
+        }
+    }
+
     @Override
     public void printNetworkState() {
         System.out.println("Topología Switched:");
@@ -1,17 +1,19 @@
 package edu.pucmm.topology;
 
 import edu.pucmm.core.Node;
+import edu.pucmm.core.NodeScheduler;
 import edu.pucmm.core.Message;
+import edu.pucmm.routing.Router;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 public class TreeNetwork implements NetworkTopology {
 
     private final List<Node> nodes = new ArrayList<>();
-    private ExecutorService executor;
+    private NodeScheduler scheduler = NodeScheduler.create("platform");
+    private boolean routing = true;
 
     @Override
     public void configureNetwork(int numberOfNodes) {
@@ -34,20 +36,65 @@ public class TreeNetwork implements NetworkTopology {
                 nodes.get(rightIndex).setParent(parent);
             }
         }
+
+        if (routing) {
+            Router router = this::nextHop;
+            for (Node node : nodes) {
+                node.setRouter(router);
+            }
+        }
     }
 
     @Override
     public void sendMessage(int sourceId, int destinationId, String messageContent) {
-        Message message = new Message(sourceId, destinationId, messageContent,System.currentTimeMillis());
-        nodes.get(sourceId).receiveMessage(message);
+        sendMessage(new Message(sourceId, destinationId, messageContent, System.currentTimeMillis()));
     }
 
     @Override
-    public void startSimulation() {
-        executor = Executors.newFixedThreadPool(nodes.size());
-        for (Node node : nodes) {
-            executor.execute(node);
+    public void sendMessage(Message message) {
+        nodes.get(message.getSourceId()).receiveMessage(message);
+    }
+
+    // Camino por el ancestro común más bajo: si el destino está debajo del nodo actual se baja por el hijo
+    // que lo contiene, si no se sube al padre. Con la numeración 2i+1, 2i+2 el padre de i es (i-1)/2.
+    private Node nextHop(int currentId, int destinationId) {
+        if (destinationId < 0 || destinationId >= nodes.size()) {
+            return null;
         }
+        int ancestor = destinationId;
+        while (ancestor > currentId) {
+            int parent = (ancestor - 1) / 2;
+            if (parent == currentId) {
+                return nodes.get(ancestor);
+            }
+            ancestor = parent;
+        }
+        return nodes.get(currentId).getParent();
+    }
+
+    @Override
+    public Collection<Node> getNodes() {
+        return nodes;
+    }
+
+    @Override
+    public void setRouting(boolean enabled) {
+        this.routing = enabled;
+    }
+
+    @Override
+    public void setScheduler(NodeScheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public void startSimulation() {
+        scheduler.start(nodes);
+    }
+
+    @Override
+    public void stopSimulation() {
+        scheduler.shutdown();
     }
 
     @Override
@@ -0,0 +1,100 @@
+package edu.pucmm.traffic;
+
+import edu.pucmm.core.Message;
+import edu.pucmm.topology.NetworkTopology;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+// Inyecta tráfico con un patrón desde un grupo de hilos inyectores. Cada inyector se encarga de los orígenes
+// con id % injectors == su índice, los recorre por turnos y espacia sus envíos para que entre todos den la
+// tasa pedida. Los mensajes llevan un texto de messageSize caracteres y el generador como carga, así el destino
+// los reconoce por identidad (isInjected) aunque la topología agregue otros mensajes.
+public class TrafficGenerator {
+
+    private final NetworkTopology topology;
+    private final TrafficPattern pattern;
+    private final int injectors;
+    private final double rate; // Mensajes por segundo entre todos los inyectores; 0 = sin límite
+    private final String content;
+    private final int nodes;
+    private final long[] sequences; // Mensajes enviados por cada origen; cada origen es de un solo inyector
+
+    public TrafficGenerator(NetworkTopology topology, TrafficPattern pattern, int injectors, double rate,
+                            int messageSize) {
+        this.topology = topology;
+        this.pattern = pattern;
+        this.nodes = topology.getNodes().size();
+        this.injectors = Math.max(1, Math.min(injectors, nodes));
+        this.rate = rate;
+        this.content = "x".repeat(Math.max(0, messageSize));
+        this.sequences = new long[nodes];
+    }
+
+    // true si el mensaje lo inyectó este generador
+    public boolean isInjected(Message message) {
+        return message.getPayload() == this;
+    }
+
+    // Intenta count envíos repartidos entre los inyectores y espera a que terminen.
+    // Devuelve cuántos se inyectaron: los que el patrón manda al mismo origen se saltan
+    public long run(long count) throws InterruptedException {
+        AtomicLong injected = new AtomicLong();
+        ExecutorService pool = Executors.newFixedThreadPool(injectors);
+        try {
+            List<Future<?>> tasks = new ArrayList<>();
+            for (int i = 0; i < injectors; i++) {
+                int index = i;
+                long share = count / injectors + (i < count % injectors ? 1 : 0);
+                tasks.add(pool.submit(() -> injected.addAndGet(inject(index, share))));
+            }
+            for (Future<?> task : tasks) {
+                try {
+                    task.get();
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Falló un inyector", e.getCause());
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        return injected.get();
+    }
+
+    private long inject(int index, long attempts) {
+        long period = rate > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) * injectors / rate) : 0;
+        long next = System.nanoTime();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int source = index;
+        long injected = 0;
+        for (long i = 0; i < attempts; i++) {
+            if (period > 0) {
+                next += period;
+                long wait;
+                while ((wait = next - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+            }
+            int destination = pattern.destination(source, sequences[source]++, random);
+            if (destination != source) {
+                Message message = new Message(source, destination, content, System.currentTimeMillis());
+                message.setPayload(this);
+                topology.sendMessage(message);
+                injected++;
+            }
+            source += injectors;
+            if (source >= nodes) {
+                source = index;
+            }
+        }
+        return injected;
+    }
+}
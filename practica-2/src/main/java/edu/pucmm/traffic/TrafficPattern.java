@@ -0,0 +1,11 @@
+package edu.pucmm.traffic;
+
+import java.util.Random;
+
+// Elige el destino de cada mensaje que inyecta un nodo origen
+@FunctionalInterface
+public interface TrafficPattern {
+
+    // sequence: cuántos mensajes envió ya este origen. Si devuelve el mismo origen, el mensaje no se inyecta
+    int destination(int source, long sequence, Random random);
+}
@@ -0,0 +1,115 @@
+package edu.pucmm.traffic;
+
+import edu.pucmm.core.Node;
+import edu.pucmm.topology.NetworkTopology;
+
+import java.util.List;
+
+// Patrones de tráfico estándar para evaluar redes de interconexión. Los de permutación de bits (complement,
+// reversal, transpose) están definidos para 2^b nodos; con otra cantidad se usan b = ceil(log2 N) bits y el
+// resultado se toma módulo N.
+public final class TrafficPatterns {
+
+    private TrafficPatterns() {
+    }
+
+    // uniform, hotspot, alltoall, neighbor, complement, reversal, transpose, tornado
+    public static TrafficPattern create(String name, NetworkTopology topology, int hotspotNode, double hotspotFraction) {
+        int nodes = topology.getNodes().size();
+        switch (name.toLowerCase()) {
+            case "uniform":
+                return uniform(nodes);
+            case "hotspot":
+                return hotspot(nodes, hotspotNode, hotspotFraction);
+            case "alltoall":
+            case "all-to-all":
+                return allToAll(nodes);
+            case "neighbor":
+            case "nearest-neighbor":
+                return nearestNeighbor(topology);
+            case "complement":
+            case "bit-complement":
+                return bitComplement(nodes);
+            case "reversal":
+            case "bit-reversal":
+                return bitReversal(nodes);
+            case "transpose":
+                return transpose(nodes);
+            case "tornado":
+                return tornado(nodes);
+            default:
+                throw new IllegalArgumentException("Patrón de tráfico no reconocido: " + name);
+        }
+    }
+
+    // Destino uniforme entre los demás nodos
+    public static TrafficPattern uniform(int nodes) {
+        return (source, sequence, random) ->
+                nodes == 1 ? source : (source + 1 + random.nextInt(nodes - 1)) % nodes;
+    }
+
+    // Una fracción del tráfico va a un solo nodo; el resto es uniforme
+    public static TrafficPattern hotspot(int nodes, int hotspotNode, double fraction) {
+        TrafficPattern uniform = uniform(nodes);
+        return (source, sequence, random) ->
+                random.nextDouble() < fraction ? hotspotNode : uniform.destination(source, sequence, random);
+    }
+
+    // Cada origen recorre a todos los demás en orden: source+1, source+2, ...
+    public static TrafficPattern allToAll(int nodes) {
+        return (source, sequence, random) ->
+                nodes == 1 ? source : (int) ((source + 1 + sequence % (nodes - 1)) % nodes);
+    }
+
+    // Un vecino directo en la topología, al azar; sin enlaces (bus, switched) el siguiente o el anterior por id
+    public static TrafficPattern nearestNeighbor(NetworkTopology topology) {
+        int nodes = topology.getNodes().size();
+        int[][] links = new int[nodes][];
+        for (Node node : topology.getNodes()) {
+            List<Node> linked = node.getLinks();
+            links[node.getId()] = linked.stream().mapToInt(Node::getId).toArray();
+        }
+        return (source, sequence, random) -> {
+            int[] candidates = links[source];
+            if (candidates.length > 0) {
+                return candidates[random.nextInt(candidates.length)];
+            }
+            return Math.floorMod(source + (random.nextBoolean() ? 1 : -1), nodes);
+        };
+    }
+
+    // Invierte todos los bits del id
+    public static TrafficPattern bitComplement(int nodes) {
+        int mask = (1 << bits(nodes)) - 1;
+        return (source, sequence, random) -> (~source & mask) % nodes;
+    }
+
+    // Los bits del id en orden inverso
+    public static TrafficPattern bitReversal(int nodes) {
+        int bits = bits(nodes);
+        return (source, sequence, random) ->
+                bits == 0 ? source : (Integer.reverse(source) >>> (Integer.SIZE - bits)) % nodes;
+    }
+
+    // Intercambia la mitad alta y la baja de los bits: (x, y) -> (y, x) en una malla de sqrt(N) x sqrt(N)
+    public static TrafficPattern transpose(int nodes) {
+        int bits = bits(nodes);
+        int low = bits / 2;
+        int high = bits - low;
+        return (source, sequence, random) -> {
+            int x = source & ((1 << low) - 1);
+            int y = source >>> low;
+            return ((x << high) | y) % nodes;
+        };
+    }
+
+    // Casi media vuelta en el anillo: source + ceil(N/2) - 1, el peor caso para el ruteo por el lado más corto
+    public static TrafficPattern tornado(int nodes) {
+        int offset = (nodes + 1) / 2 - 1;
+        return (source, sequence, random) -> (source + offset) % nodes;
+    }
+
+    private static int bits(int nodes) {
+        return nodes <= 1 ? 0 : Integer.SIZE - Integer.numberOfLeadingZeros(nodes - 1);
+    }
+}